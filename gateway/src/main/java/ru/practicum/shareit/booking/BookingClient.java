@@ -11,6 +11,8 @@ import ru.practicum.shareit.booking.dto.BookingSearchState;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -47,6 +49,17 @@ public class BookingClient extends BaseClient {
         return post("", bookerId, dto);
     }
 
+    /**
+     * Создать пакет броней.
+     *
+     * @param bookerId идентификатор пользователя, желающего забронировать вещи.
+     * @param dtos     трансферные объекты для запросов бронирования вещей.
+     * @return результаты создания броней.
+     */
+    public ResponseEntity<Object> createBookings(long bookerId, List<CreateBookingDto> dtos) {
+        return post("/batch", bookerId, dtos);
+    }
+
     /**
      * Получить коллекцию броней пользователя.
      *
@@ -54,16 +67,11 @@ public class BookingClient extends BaseClient {
      * @param state    состояние для поиска броней.
      * @param from     количество броней, которое надо пропустить.
      * @param size     количество броней, которое надо получить.
+     * @param after    курсор, после которого надо получить брони.
      * @return коллекция броней.
      */
-    public ResponseEntity<Object> getBookings(long bookerId, BookingSearchState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-
-        return get("?state={state}&from={from}&size={size}", bookerId, parameters);
+    public ResponseEntity<Object> getBookings(long bookerId, BookingSearchState state, Integer from, Integer size, String after) {
+        return getBookings("", bookerId, state, from, size, after);
     }
 
     /**
@@ -73,16 +81,11 @@ public class BookingClient extends BaseClient {
      * @param state    состояние для поиска броней.
      * @param from     количество броней, которое надо пропустить.
      * @param size     количество броней, которое надо получить.
+     * @param after    курсор, после которого надо получить брони.
      * @return коллекция броней.
      */
-    public ResponseEntity<Object> getOwnerBookings(long bookerId, BookingSearchState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-
-        return get("/owner?state={state}&from={from}&size={size}", bookerId, parameters);
+    public ResponseEntity<Object> getOwnerBookings(long bookerId, BookingSearchState state, Integer from, Integer size, String after) {
+        return getBookings("/owner", bookerId, state, from, size, after);
     }
 
     /**
@@ -111,4 +114,46 @@ public class BookingClient extends BaseClient {
 
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
+
+    /**
+     * Подтвердить/отклонить брони вещей владельца.
+     *
+     * @param ownerId    идентификатор владельца вещей.
+     * @param approved   признак подтверждения броней.
+     * @param bookingIds идентификаторы броней.
+     * @return измененные брони.
+     */
+    public ResponseEntity<Object> approveBookings(long ownerId, boolean approved, List<Long> bookingIds) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+
+        return patch("/batch?approved={approved}", ownerId, parameters, bookingIds);
+    }
+
+    /**
+     * Получить коллекцию броней.
+     *
+     * @param path   путь запроса.
+     * @param userId идентификатор пользователя.
+     * @param state  состояние для поиска броней.
+     * @param from   количество броней, которое надо пропустить.
+     * @param size   количество броней, которое надо получить.
+     * @param after  курсор, после которого надо получить брони.
+     * @return коллекция броней.
+     */
+    private ResponseEntity<Object> getBookings(String path, long userId, BookingSearchState state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+
+        if (after == null) {
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+
+        parameters.put("after", after);
+        return get(path + "?state={state}&from={from}&size={size}&after={after}", userId, parameters);
+    }
 }
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingSearchState;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 
+import java.util.List;
+
 /**
  * Контроллер для работы с бронью.
  */
@@ -36,6 +41,19 @@ public class BookingController {
         return bookingClient.createBooking(bookerId, dto);
     }
 
+    /**
+     * Создать пакет броней.
+     *
+     * @param bookerId идентификатор пользователя, желающего забронировать вещи.
+     * @param dtos     трансферные объекты для запросов бронирования вещей.
+     * @return результаты создания броней.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createBookings(@RequestHeader(name = "X-Sharer-User-Id") long bookerId,
+                                                 @RequestBody @NotEmpty @Size(max = 100) @Valid List<CreateBookingDto> dtos) {
+        return bookingClient.createBookings(bookerId, dtos);
+    }
+
     /**
      * Получить коллекцию броней пользователя.
      *
@@ -43,15 +61,17 @@ public class BookingController {
      * @param state    состояние для поиска броней.
      * @param from     количество броней, которое надо пропустить.
      * @param size     количество броней, которое надо получить.
+     * @param after    курсор, после которого надо получить брони.
      * @return коллекция броней.
      */
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long bookerId,
                                               @RequestParam(name = "state", defaultValue = "all") String state,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "after", required = false) String after) {
         BookingSearchState searchState = BookingSearchState.from(state).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getBookings(bookerId, searchState, from, size);
+        return bookingClient.getBookings(bookerId, searchState, from, size, after);
     }
 
     /**
@@ -59,15 +79,19 @@ public class BookingController {
      *
      * @param ownerId идентификатор владельца вещи.
      * @param state   состояние для поиска броней.
+     * @param from    количество броней, которое надо пропустить.
+     * @param size    количество броней, которое надо получить.
+     * @param after   курсор, после которого надо получить брони.
      * @return коллекция броней.
      */
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
                                                    @RequestParam(defaultValue = "ALL") String state,
                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                   @RequestParam(name = "after", required = false) String after) {
         BookingSearchState searchState = BookingSearchState.from(state).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getOwnerBookings(ownerId, searchState, from, size);
+        return bookingClient.getOwnerBookings(ownerId, searchState, from, size, after);
     }
 
     /**
@@ -97,4 +121,19 @@ public class BookingController {
                                                  @RequestParam boolean approved) {
         return bookingClient.approveBooking(ownerId, bookingId, approved);
     }
+
+    /**
+     * Подтвердить/отклонить брони вещей владельца.
+     *
+     * @param ownerId    идентификатор владельца вещей.
+     * @param approved   признак подтверждения броней.
+     * @param bookingIds идентификаторы броней.
+     * @return измененные брони.
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> approveBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
+                                                  @RequestParam boolean approved,
+                                                  @RequestBody @NotEmpty @Size(max = 1000) List<@NotNull Long> bookingIds) {
+        return bookingClient.approveBookings(ownerId, approved, bookingIds);
+    }
 }
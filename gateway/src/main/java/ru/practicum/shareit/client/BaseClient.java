@@ -6,6 +6,7 @@ import java.util.Map;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -31,6 +32,10 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters, HttpHeaders headers) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, headers);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -80,7 +85,13 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body, HttpHeaders.EMPTY);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, HttpHeaders headers) {
+        HttpHeaders requestHeaders = defaultHeaders(userId);
+        requestHeaders.addAll(headers);
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, requestHeaders);
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -106,7 +117,8 @@ public class BaseClient {
     }
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
+        // Ответ 304 Not Modified передается вместе с заголовками, в том числе ETag.
+        if (response.getStatusCode().is2xxSuccessful() || response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
             return response;
         }
 
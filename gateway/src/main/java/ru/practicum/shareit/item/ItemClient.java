@@ -1,17 +1,26 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -86,14 +95,60 @@ public class ItemClient extends BaseClient {
      *
      * @param userId идентификатор пользователя.
      * @param text   текст для поиска.
+     * @param mode   режим поиска.
+     * @param from   количество вещей, которое надо пропустить.
+     * @param size   количество вещей, которое надо получить.
+     * @param after  курсор, после которого надо получить вещи.
      * @return список вещей.
      */
-    public ResponseEntity<Object> search(long userId, String text) {
-        Map<String, Object> parameters = Map.of(
-                "text", text
-        );
+    public ResponseEntity<Object> search(long userId, String text, String mode, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "text", text,
+                "mode", mode,
+                "from", from,
+                "size", size
+        ));
 
-        return get("?text={text}", userId, parameters);
+        if (after == null) {
+            return get("/search?text={text}&mode={mode}&from={from}&size={size}", userId, parameters);
+        }
+
+        parameters.put("after", after);
+        return get("/search?text={text}&mode={mode}&from={from}&size={size}&after={after}", userId, parameters);
+    }
+
+    /**
+     * Поиск вещей с потоковой передачей результата.
+     * <p>
+     * Тело ответа сервера не буферизуется шлюзом, а по мере получения копируется в ответ шлюза. Код ответа
+     * сервера, в том числе код ошибки, передается клиенту до начала записи тела.
+     *
+     * @param userId   идентификатор пользователя.
+     * @param text     текст для поиска.
+     * @param response ответ шлюза.
+     */
+    public void streamSearch(long userId, String text, HttpServletResponse response) {
+        try {
+            rest.execute("/search/stream?text={text}", HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+                    },
+                    serverResponse -> {
+                        response.setStatus(serverResponse.getStatusCode().value());
+                        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                        return serverResponse.getBody().transferTo(response.getOutputStream());
+                    },
+                    Map.of("text", text));
+        } catch (HttpStatusCodeException e) {
+            response.setStatus(e.getStatusCode().value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            try {
+                response.getOutputStream().write(e.getResponseBodyAsByteArray());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
     }
 
     /**
@@ -107,4 +162,46 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> addCommentToItem(long authorId, long itemId, CreateCommentDto dto) {
         return post("/" + itemId + "/comment", authorId, dto);
     }
+
+    /**
+     * Получить комментарии к вещи.
+     *
+     * @param userId идентификатор пользователя.
+     * @param itemId идентификатор вещи.
+     * @param from   количество комментариев, которое надо пропустить.
+     * @param size   количество комментариев, которое надо получить.
+     * @param after  курсор, после которого надо получить комментарии.
+     * @return список комментариев.
+     */
+    public ResponseEntity<Object> getItemComments(long userId, long itemId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+
+        if (after == null) {
+            return get("/" + itemId + "/comments?from={from}&size={size}", userId, parameters);
+        }
+
+        parameters.put("after", after);
+        return get("/" + itemId + "/comments?from={from}&size={size}&after={after}", userId, parameters);
+    }
+
+    /**
+     * Получить календарь доступности вещи за период.
+     *
+     * @param userId идентификатор пользователя.
+     * @param itemId идентификатор вещи.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @return календарь доступности вещи.
+     */
+    public ResponseEntity<Object> getItemAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
 }
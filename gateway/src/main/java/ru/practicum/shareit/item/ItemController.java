@@ -1,14 +1,21 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 
+import java.time.LocalDateTime;
+
 /**
  * Контроллер для запросов к вещам.
  */
@@ -77,13 +84,38 @@ public final class ItemController {
     /**
      * Поиск вещей.
      *
-     * @param text текст для поиска.
+     * @param userId идентификатор пользователя.
+     * @param text   текст для поиска.
+     * @param mode   режим поиска.
+     * @param from   количество вещей, которое надо пропустить.
+     * @param size   количество вещей, которое надо получить.
+     * @param after  курсор, после которого надо получить вещи.
      * @return список вещей.
      */
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestHeader(name = "X-Sharer-User-Id") long userId,
-                                         @RequestParam(required = false) String text) {
-        return itemClient.search(userId, text);
+                                         @RequestParam(defaultValue = "") String text,
+                                         @RequestParam(name = "mode", defaultValue = "SUBSTRING") String mode,
+                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                         @RequestParam(name = "after", required = false) String after) {
+        return itemClient.search(userId, text, mode, from, size, after);
+    }
+
+    /**
+     * Поиск вещей с потоковой передачей результата.
+     * <p>
+     * Код и тело ответа сервера передаются клиенту без изменений.
+     *
+     * @param userId   идентификатор пользователя.
+     * @param text     текст для поиска.
+     * @param response ответ со списком вещей.
+     */
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void streamSearch(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                             @RequestParam(defaultValue = "") String text,
+                             HttpServletResponse response) {
+        itemClient.streamSearch(userId, text, response);
     }
 
     /**
@@ -100,4 +132,40 @@ public final class ItemController {
                                                    @RequestBody @Valid CreateCommentDto dto) {
         return itemClient.addCommentToItem(authorId, itemId, dto);
     }
-}
\ No newline at end of file
+
+    /**
+     * Получить комментарии к вещи.
+     *
+     * @param itemId идентификатор вещи.
+     * @param userId идентификатор пользователя.
+     * @param from   количество комментариев, которое надо пропустить.
+     * @param size   количество комментариев, которое надо получить.
+     * @param after  курсор, после которого надо получить комментарии.
+     * @return список комментариев.
+     */
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getItemComments(@PathVariable long itemId,
+                                                  @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                  @RequestParam(name = "after", required = false) String after) {
+        return itemClient.getItemComments(userId, itemId, from, size, after);
+    }
+
+    /**
+     * Получить календарь доступности вещи за период.
+     *
+     * @param itemId идентификатор вещи.
+     * @param userId идентификатор пользователя.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @return календарь доступности вещи.
+     */
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(@PathVariable long itemId,
+                                                      @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
+}
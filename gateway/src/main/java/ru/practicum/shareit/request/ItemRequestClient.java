@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
@@ -10,6 +11,9 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * REST-клиент для работы с запросами вещей.
  */
@@ -54,10 +58,66 @@ public class ItemRequestClient extends BaseClient {
     /**
      * Получить список запросов вещей других пользователей.
      *
+     * @param userId      идентификатор пользователя.
+     * @param from        количество запросов, которое надо пропустить.
+     * @param size        количество запросов, которое надо получить.
+     * @param after       курсор, после которого надо получить запросы.
+     * @param since       идентификатор последнего полученного запроса, после которого надо получить новые запросы.
+     * @param ifNoneMatch тег ETag ответа на предыдущий опрос новых запросов.
+     */
+    public ResponseEntity<Object> getOtherUsersRequests(long userId, Integer from, Integer size, String after, Long since, String ifNoneMatch) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        StringBuilder path = new StringBuilder("/all?from={from}&size={size}");
+
+        if (after != null) {
+            parameters.put("after", after);
+            path.append("&after={after}");
+        }
+
+        if (since != null) {
+            parameters.put("since", since);
+            path.append("&since={since}");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        return get(path.toString(), userId, parameters, headers);
+    }
+
+    /**
+     * Получить предложения вещей в ответ на запросы пользователя.
+     *
      * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
      */
-    public ResponseEntity<Object> getOtherUsersRequests(long userId) {
-        return get("/all", userId);
+    public ResponseEntity<Object> getRequesterSuggestions(long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/suggestions?from={from}&size={size}", userId, parameters);
+    }
+
+    /**
+     * Получить предложения вещей пользователя в ответ на запросы других пользователей.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     */
+    public ResponseEntity<Object> getOwnerSuggestions(long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/suggestions/owner?from={from}&size={size}", userId, parameters);
     }
 
     /**
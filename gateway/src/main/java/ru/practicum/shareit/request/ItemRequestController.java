@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -44,11 +47,49 @@ public final class ItemRequestController {
     /**
      * Получить список запросов вещей других пользователей.
      *
-     * @param userId идентификатор пользователя.
+     * @param userId      идентификатор пользователя.
+     * @param from        количество запросов, которое надо пропустить.
+     * @param size        количество запросов, которое надо получить.
+     * @param after       курсор, после которого надо получить запросы.
+     * @param since       идентификатор последнего полученного запроса, после которого надо получить новые запросы.
+     * @param ifNoneMatch тег ETag ответа на предыдущий опрос новых запросов.
      */
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherUsersRequests(@RequestHeader(name = "X-Sharer-User-Id") long userId) {
-        return requestClient.getOtherUsersRequests(userId);
+    public ResponseEntity<Object> getOtherUsersRequests(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                        @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                        @RequestParam(name = "after", required = false) String after,
+                                                        @PositiveOrZero @RequestParam(name = "since", required = false) Long since,
+                                                        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return requestClient.getOtherUsersRequests(userId, from, size, after, since, ifNoneMatch);
+    }
+
+    /**
+     * Получить предложения вещей в ответ на запросы пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<Object> getRequesterSuggestions(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return requestClient.getRequesterSuggestions(userId, from, size);
+    }
+
+    /**
+     * Получить предложения вещей пользователя в ответ на запросы других пользователей.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     */
+    @GetMapping("/suggestions/owner")
+    public ResponseEntity<Object> getOwnerSuggestions(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return requestClient.getOwnerSuggestions(userId, from, size);
     }
 
     /**
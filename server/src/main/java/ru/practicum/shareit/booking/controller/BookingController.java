@@ -1,15 +1,22 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingSearchState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.CursorPageResponses;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Контроллер для работы с бронью.
@@ -37,17 +44,39 @@ public final class BookingController {
         return BookingMapper.mapToBookingDto(bookingService.createBooking(BookingMapper.mapToBooking(bookerId, dto)));
     }
 
+    /**
+     * Создать пакет броней.
+     * <p>
+     * Брони, которые создать нельзя, не мешают созданию остальных; результат возвращается для каждой брони пакета.
+     *
+     * @param bookerId идентификатор пользователя, желающего забронировать вещи.
+     * @param dtos     трансферные объекты для запросов бронирования вещей.
+     * @return результаты создания броней в порядке следования запросов.
+     */
+    @PostMapping("/batch")
+    public Collection<BookingBatchResultDto> createBookings(@RequestHeader(name = "X-Sharer-User-Id") long bookerId,
+                                                           @RequestBody List<CreateBookingDto> dtos) {
+        List<Booking> bookings = dtos.stream().map(dto -> BookingMapper.mapToBooking(bookerId, dto)).toList();
+        return BookingMapper.mapToBookingBatchResultDtoCollection(bookingService.createBookings(bookerId, bookings));
+    }
+
     /**
      * Получить коллекцию броней пользователя.
      *
      * @param bookerId идентификатор пользователя, осуществившего бронь.
      * @param state    состояние для поиска броней.
+     * @param from     количество броней, которое надо пропустить.
+     * @param size     количество броней, которое надо получить.
+     * @param after    курсор, после которого надо получить брони.
      * @return коллекция броней.
      */
     @GetMapping
-    public Collection<BookingDto> getBookings(@RequestHeader(name = "X-Sharer-User-Id") long bookerId,
-                                              @RequestParam(defaultValue = "ALL") BookingSearchState state) {
-        return BookingMapper.mapToBookingDtoCollection(bookingService.getBookings(bookerId, state));
+    public ResponseEntity<Collection<BookingDto>> getBookings(@RequestHeader(name = "X-Sharer-User-Id") long bookerId,
+                                                              @RequestParam(defaultValue = "ALL") BookingSearchState state,
+                                                              @RequestParam(defaultValue = "0") int from,
+                                                              @RequestParam(defaultValue = "10") int size,
+                                                              @RequestParam(required = false) TimestampCursor after) {
+        return toResponse(bookingService.getBookings(bookerId, state, from, size, after));
     }
 
     /**
@@ -55,12 +84,18 @@ public final class BookingController {
      *
      * @param ownerId идентификатор владельца вещи.
      * @param state   состояние для поиска броней.
+     * @param from    количество броней, которое надо пропустить.
+     * @param size    количество броней, которое надо получить.
+     * @param after   курсор, после которого надо получить брони.
      * @return коллекция броней.
      */
     @GetMapping("/owner")
-    public Collection<BookingDto> getOwnerBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
-                                                   @RequestParam(defaultValue = "ALL") BookingSearchState state) {
-        return BookingMapper.mapToBookingDtoCollection(bookingService.getOwnerBookings(ownerId, state));
+    public ResponseEntity<Collection<BookingDto>> getOwnerBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
+                                                                   @RequestParam(defaultValue = "ALL") BookingSearchState state,
+                                                                   @RequestParam(defaultValue = "0") int from,
+                                                                   @RequestParam(defaultValue = "10") int size,
+                                                                   @RequestParam(required = false) TimestampCursor after) {
+        return toResponse(bookingService.getOwnerBookings(ownerId, state, from, size, after));
     }
 
     /**
@@ -78,6 +113,8 @@ public final class BookingController {
 
     /**
      * Подтвердить/отклонить бронь.
+     * <p>
+     * Для брони, которая уже подтверждена или отклонена, возвращается 409 Conflict.
      *
      * @param ownerId   идентификатор владельца вещи.
      * @param bookingId идентификатор бронирования.
@@ -90,4 +127,39 @@ public final class BookingController {
                                      @RequestParam boolean approved) {
         return BookingMapper.mapToBookingDto(bookingService.approveBooking(bookingId, ownerId, approved));
     }
+
+    /**
+     * Подтвердить/отклонить брони вещей владельца.
+     * <p>
+     * Брони, которые уже подтверждены или отклонены либо не могут быть подтверждены из-за пересечения периодов,
+     * не изменяются и в ответ не попадают.
+     *
+     * @param ownerId    идентификатор владельца вещей.
+     * @param approved   признак подтверждения броней.
+     * @param bookingIds идентификаторы броней.
+     * @return измененные брони.
+     */
+    @PatchMapping("/batch")
+    public Collection<BookingDto> approveBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
+                                                  @RequestParam boolean approved,
+                                                  @RequestBody List<Long> bookingIds) {
+        return BookingMapper.mapToBookingDtoCollection(bookingService.approveBookings(ownerId, bookingIds, approved));
+    }
+
+    //region Facilities
+
+    /**
+     * Сформировать ответ со страницей броней.
+     * <p>
+     * Если за страницей есть ещё брони, в заголовок X-Next-Cursor помещается курсор для получения следующей страницы.
+     *
+     * @param bookings страница броней.
+     * @return ответ со страницей броней.
+     */
+    private ResponseEntity<Collection<BookingDto>> toResponse(Window<Booking> bookings) {
+        return CursorPageResponses.of(bookings, booking -> TimestampCursor.of(booking.getStart(), booking.getId()).toToken(),
+                BookingMapper.mapToBookingDtoCollection(bookings.getContent()));
+    }
+
+    //endregion
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Трансферный объект для результата создания брони из пакета.
+ */
+@Builder(toBuilder = true)
+@Data
+public final class BookingBatchResultDto {
+    /**
+     * Созданная бронь; отсутствует, если бронь не создана.
+     */
+    private final BookingDto booking;
+
+    /**
+     * Причина, по которой бронь не создана; отсутствует, если бронь создана.
+     */
+    private final String error;
+}
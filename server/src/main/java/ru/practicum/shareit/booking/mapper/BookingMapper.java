@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.mapper;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
@@ -59,4 +61,19 @@ public final class BookingMapper {
     public static Collection<BookingDto> mapToBookingDtoCollection(Collection<Booking> bookings) {
         return bookings.stream().map(BookingMapper::mapToBookingDto).toList();
     }
+
+    /**
+     * Преобразовать коллекцию результатов создания броней из пакета в коллекцию трансферных объектов.
+     *
+     * @param results коллекция результатов создания броней.
+     * @return коллекция трансферных объектов для результатов создания броней.
+     */
+    public static Collection<BookingBatchResultDto> mapToBookingBatchResultDtoCollection(Collection<BookingBatchResult> results) {
+        return results.stream()
+                .map(result -> BookingBatchResultDto.builder()
+                        .booking(result.getBooking() == null ? null : mapToBookingDto(result.getBooking()))
+                        .error(result.getError())
+                        .build())
+                .toList();
+    }
 }
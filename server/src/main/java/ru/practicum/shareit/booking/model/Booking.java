@@ -14,16 +14,39 @@ import java.time.LocalDateTime;
 @Builder(toBuilder = true)
 @Entity
 @Getter
+@NamedEntityGraph(
+        name = Booking.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("booker"),
+                @NamedAttributeNode(value = "item", subgraph = "item")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item", attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode(value = "request", subgraph = "request")
+                }),
+                @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requester"))
+        }
+)
 @NoArgsConstructor
 @Setter
 @Table(name = "bookings", schema = "public")
 @ToString
 public final class Booking {
+    /**
+     * Название графа сущности, загружающего бронь вместе с пользователем и вещью одним запросом.
+     */
+    public static final String DETAILS_GRAPH = "Booking.details";
+
     /**
      * Идентификатор брони.
+     * <p>
+     * Идентификаторы выделяются из последовательности блоками, поэтому пакет броней вставляется без запроса
+     * идентификатора после каждой вставки.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private long id;
 
     /**
@@ -59,4 +82,13 @@ public final class Booking {
     @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
     private Item item;
+
+    /**
+     * Версия брони.
+     * <p>
+     * Увеличивается при каждом изменении брони; изменение устаревшей версии отклоняется.
+     */
+    @Column(name = "version", nullable = false)
+    @Version
+    private long version;
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * Сведения о брони, необходимые для её подтверждения или отклонения.
+ */
+public interface BookingApprovalState extends ItemBookingInterval {
+    /**
+     * Получить статус брони.
+     *
+     * @return статус брони.
+     */
+    BookingStatus getStatus();
+
+    /**
+     * Получить идентификатор владельца забронированной вещи.
+     *
+     * @return идентификатор владельца вещи.
+     */
+    long getOwnerId();
+}
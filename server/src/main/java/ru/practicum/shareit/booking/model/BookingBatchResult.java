@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Результат создания брони из пакета.
+ */
+@Builder(toBuilder = true)
+@Data
+public final class BookingBatchResult {
+    /**
+     * Созданная бронь; отсутствует, если бронь не создана.
+     */
+    private final Booking booking;
+
+    /**
+     * Причина, по которой бронь не создана; отсутствует, если бронь создана.
+     */
+    private final String error;
+}
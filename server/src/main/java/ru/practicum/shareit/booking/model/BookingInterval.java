@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период бронирования вещи.
+ */
+public interface BookingInterval {
+    /**
+     * Получить идентификатор брони.
+     *
+     * @return идентификатор брони.
+     */
+    long getId();
+
+    /**
+     * Получить дату начала бронирования.
+     *
+     * @return дата начала бронирования.
+     */
+    LocalDateTime getStart();
+
+    /**
+     * Получить дату окончания бронирования.
+     *
+     * @return дата окончания бронирования.
+     */
+    LocalDateTime getEnd();
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Даты ближайших бронирований вещи.
+ */
+public interface ItemBookingDates {
+    /**
+     * Получить идентификатор вещи.
+     *
+     * @return идентификатор вещи.
+     */
+    long getItemId();
+
+    /**
+     * Получить дату окончания текущего бронирования.
+     *
+     * @return дата окончания текущего бронирования.
+     */
+    LocalDateTime getLastBooking();
+
+    /**
+     * Получить дату начала следующего бронирования.
+     *
+     * @return дата начала следующего бронирования.
+     */
+    LocalDateTime getNextBooking();
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * Период бронирования вещи вместе с идентификатором вещи.
+ */
+public interface ItemBookingInterval extends BookingInterval {
+    /**
+     * Получить идентификатор забронированной вещи.
+     *
+     * @return идентификатор вещи.
+     */
+    long getItemId();
+}
@@ -1,130 +1,215 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalState;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
+import ru.practicum.shareit.booking.model.ItemBookingInterval;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Контракт для хранилища броней.
  */
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     /**
-     * Получить список всех броней пользователя для конкретной вещи.
+     * Проверить, есть ли у пользователя бронь вещи в определенном статусе, закончившаяся до указанного момента.
      *
      * @param bookerId идентификатор пользователя, осуществившего бронь.
      * @param itemId   идентификатор вещи.
-     * @return список броней.
+     * @param status   статус брони.
+     * @param end      момент времени, до которого должна закончиться бронь.
+     * @return признак наличия брони.
      */
-    List<Booking> findByBookerIdAndItemId(long bookerId, long itemId);
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(long bookerId, long itemId, BookingStatus status, LocalDateTime end);
 
     /**
-     * Получить список всех броней пользователя, отсортированных по убыванию даты начала бронирования.
+     * Проверить, есть ли у вещи бронь в определенном статусе, период которой пересекается с указанным.
+     * <p>
+     * Бронь пересекается с периодом, если начинается раньше его окончания и заканчивается позже его начала.
      *
-     * @param bookerId идентификатор пользователя, осуществившего бронь.
-     * @return список броней.
+     * @param itemId идентификатор вещи.
+     * @param status статус брони.
+     * @param end    дата окончания периода.
+     * @param start  дата начала периода.
+     * @return признак наличия брони.
      */
-    List<Booking> findByBookerIdOrderByStartDesc(long bookerId);
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(long itemId, BookingStatus status, LocalDateTime end, LocalDateTime start);
 
     /**
-     * Получить список завершенных броней пользователя, отсортированных по убыванию даты начала бронирования.
+     * Получить периоды броней вещи в определенном статусе.
      *
-     * @param bookerId идентификатор пользователя, осуществившего бронь.
-     * @param before   дата, которая используется для сравнения с датой окончания бронирования.
-     * @return список броней.
+     * @param itemId идентификатор вещи.
+     * @param status статус брони.
+     * @return коллекция периодов бронирования.
      */
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime before);
+    List<BookingInterval> findByItemIdAndStatus(long itemId, BookingStatus status);
 
     /**
-     * Получить список текущих броней пользователя, отсортированных по убыванию даты начала бронирования.
+     * Получить периоды броней вещи в определенном статусе, пересекающиеся с указанным периодом.
+     * <p>
+     * Запрос выполняется по индексу {@code idx_bookings_item_start} и читает только даты броней.
      *
-     * @param bookerId идентификатор пользователя, осуществившего бронь.
-     * @param after    дата, которая используется для сравнения с датой начала бронирования.
-     * @param before   дата, которая используется для сравнения с датой окончания бронирования.
-     * @return список броней.
+     * @param itemId идентификатор вещи.
+     * @param status статус брони.
+     * @param end    дата окончания периода.
+     * @param start  дата начала периода.
+     * @return коллекция периодов бронирования, упорядоченная по дате начала бронирования.
      */
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(long bookerId, LocalDateTime after, LocalDateTime before);
+    List<BookingInterval> findByItemIdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(long itemId, BookingStatus status, LocalDateTime end, LocalDateTime start);
 
     /**
-     * Получить список будущих броней пользователя, отсортированных по убыванию даты начала бронирования.
+     * Получить периоды броней нескольких вещей в определенном статусе, пересекающиеся с указанным периодом.
      *
-     * @param bookerId идентификатор пользователя, осуществившего бронь.
-     * @param after    дата, которая используется для сравнения с датой начала бронирования.
-     * @return список броней.
+     * @param itemIds коллекция идентификаторов вещей.
+     * @param status  статус брони.
+     * @param end     дата окончания периода.
+     * @param start   дата начала периода.
+     * @return коллекция периодов бронирования.
      */
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime after);
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.item.id AS itemId
+            FROM Booking b
+            WHERE b.item.id IN :itemIds AND b.status = :status AND b.start < :end AND b.end > :start
+            """)
+    List<ItemBookingInterval> findItemIntervals(Collection<Long> itemIds, BookingStatus status, LocalDateTime end, LocalDateTime start);
 
     /**
-     * Получить список броней пользователя в определенном статусе, отсортированных по убыванию даты начала бронирования.
+     * Получить идентификаторы вещей, которые бронировал пользователь.
      *
      * @param bookerId идентификатор пользователя, осуществившего бронь.
-     * @param status   статус брони.
-     * @return список броней.
+     * @return список идентификаторов вещей.
      */
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(long bookerId, BookingStatus status);
+    @Query("""
+            SELECT DISTINCT b.item.id
+            FROM Booking b
+            WHERE b.booker.id = :bookerId
+            """)
+    List<Long> findBookedItemIds(long bookerId);
 
     /**
-     * Получить брони для вещи.
+     * Получить бронь вместе с пользователем, вещью, владельцем вещи и запросом вещи одним запросом.
      *
-     * @param itemId идентификатор вещи.
-     * @return список броней.
+     * @param bookingId идентификатор брони.
+     * @return бронь.
      */
-    List<Booking> findByItemId(long itemId);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findWithDetailsById(long bookingId);
 
     /**
-     * Получить брони для коллекции вещей.
+     * Получить сведения о брони, необходимые для её подтверждения или отклонения, не загружая пользователя и вещь.
      *
-     * @param items коллекция вещей.
-     * @return список броней.
+     * @param bookingId идентификатор брони.
+     * @return сведения о брони.
      */
-    List<Booking> findByItemIn(Collection<Item> items);
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status, b.item.id AS itemId, b.item.owner.id AS ownerId
+            FROM Booking b
+            WHERE b.id = :bookingId
+            """)
+    Optional<BookingApprovalState> findApprovalStateById(long bookingId);
 
     /**
-     * Получить список всех броней владельца вещи, отсортированных по убыванию даты начала бронирования.
+     * Получить сведения о бронях, необходимые для их подтверждения или отклонения, не загружая пользователей и вещи.
      *
-     * @param ownerId идентификатор владельца вещи.
-     * @return список броней.
+     * @param bookingIds коллекция идентификаторов броней.
+     * @return коллекция сведений о бронях.
      */
-    List<Booking> findByItemOwnerIdOrderByStartDesc(long ownerId);
+    @Query("""
+            SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status, b.item.id AS itemId, b.item.owner.id AS ownerId
+            FROM Booking b
+            WHERE b.id IN :bookingIds
+            """)
+    List<BookingApprovalState> findApprovalStatesByIdIn(Collection<Long> bookingIds);
 
     /**
-     * Получить список завершенных броней владельца вещи, отсортированных по убыванию даты начала бронирования.
+     * Получить брони в определенном статусе вместе с пользователями, вещами, владельцами вещей и запросами вещей.
      *
-     * @param ownerId идентификатор владельца вещи.
-     * @param before  дата, которая используется для сравнения с датой окончания бронирования.
-     * @return список броней.
+     * @param bookingIds коллекция идентификаторов броней.
+     * @param status     статус брони.
+     * @return коллекция броней.
      */
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(long ownerId, LocalDateTime before);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findWithDetailsByIdInAndStatus(Collection<Long> bookingIds, BookingStatus status);
 
     /**
-     * Получить список текущих броней владельца вещи, отсортированных по убыванию даты начала бронирования.
+     * Изменить статус брони, если он не изменился с момента чтения.
+     * <p>
+     * Проверка и изменение статуса выполняются одним запросом, поэтому из одновременных изменений статуса
+     * одной брони выполняется только одно.
      *
-     * @param ownerId идентификатор владельца вещи.
-     * @param after   дата, которая используется для сравнения с датой начала бронирования.
-     * @param before  дата, которая используется для сравнения с датой окончания бронирования.
-     * @return список броней.
+     * @param bookingId      идентификатор брони.
+     * @param expectedStatus ожидаемый текущий статус брони.
+     * @param newStatus      новый статус брони.
+     * @return количество измененных броней: 1, если статус изменен, и 0, если текущий статус брони другой.
      */
-    List<Booking> findByItemOwnerIdAndStartAfterAndEndBeforeOrderByStartDesc(long ownerId, LocalDateTime after, LocalDateTime before);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :newStatus, b.version = b.version + 1 WHERE b.id = :bookingId AND b.status = :expectedStatus")
+    @Transactional
+    int updateStatus(long bookingId, BookingStatus expectedStatus, BookingStatus newStatus);
 
     /**
-     * Получить список будущих броней владельца вещи, отсортированных по убыванию даты начала бронирования.
+     * Изменить статус броней вещей владельца, находящихся в ожидаемом статусе.
+     * <p>
+     * Брони чужих вещей и брони в другом статусе не изменяются.
      *
-     * @param ownerId идентификатор владельца вещи.
-     * @param after   дата, которая используется для сравнения с датой начала бронирования.
-     * @return список броней.
+     * @param bookingIds     коллекция идентификаторов броней.
+     * @param ownerId        идентификатор владельца вещей.
+     * @param expectedStatus ожидаемый текущий статус броней.
+     * @param newStatus      новый статус броней.
+     * @return количество измененных броней.
      */
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(long ownerId, LocalDateTime after);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Booking b SET b.status = :newStatus, b.version = b.version + 1
+            WHERE b.id IN :bookingIds AND b.status = :expectedStatus
+              AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            """)
+    @Transactional
+    int updateOwnerStatuses(Collection<Long> bookingIds, long ownerId, BookingStatus expectedStatus, BookingStatus newStatus);
 
     /**
-     * Получить список броней владельца вещи в определенном статусе, отсортированных по убыванию даты начала бронирования.
+     * Получить даты ближайших бронирований для коллекции вещей.
+     * <p>
+     * Даты вычисляются агрегирующим запросом, поэтому для каждой вещи из хранилища передается не более одной строки.
      *
-     * @param ownerId идентификатор владельца вещи.
-     * @param status  статус брони.
-     * @return список броней.
+     * @param itemIds коллекция идентификаторов вещей.
+     * @param now     момент времени, относительно которого определяются текущее и следующее бронирования.
+     * @return коллекция дат ближайших бронирований; вещи без текущих и будущих броней могут отсутствовать.
+     */
+    @Query("""
+            SELECT b.item.id AS itemId,
+                   MAX(CASE WHEN b.start < :now AND b.end > :now THEN b.end END) AS lastBooking,
+                   MIN(CASE WHEN b.start > :now THEN b.start END) AS nextBooking
+            FROM Booking b
+            WHERE b.item.id IN :itemIds AND b.end > :now
+            GROUP BY b.item.id
+            """)
+    List<ItemBookingDates> findItemBookingDates(Collection<Long> itemIds, LocalDateTime now);
+
+    /**
+     * Выполнить запрос броней по условию выборки.
+     * <p>
+     * Пользователь, вещь, владелец вещи и запрос вещи загружаются вместе с бронями одним запросом.
+     *
+     * @param spec          условие выборки броней.
+     * @param queryFunction функция, определяющая порядок, размер и способ выборки.
+     * @return результат выборки.
      */
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(long ownerId, BookingStatus status);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Override
+    <S extends Booking, R> R findBy(Specification<Booking> spec, Function<FetchableFluentQuery<S>, R> queryFunction);
 }
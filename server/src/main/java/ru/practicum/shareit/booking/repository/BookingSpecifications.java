@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingSearchState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Условия для выборки броней.
+ * <p>
+ * Условия комбинируются через {@link Specification#and(Specification)}, поэтому новый фильтр
+ * добавляется одним методом, а не отдельным методом хранилища для каждого сочетания параметров.
+ */
+public final class BookingSpecifications {
+    /**
+     * Брони пользователя.
+     *
+     * @param bookerId идентификатор пользователя, осуществившего бронь.
+     * @return условие выборки.
+     */
+    public static Specification<Booking> hasBooker(long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    /**
+     * Брони вещей владельца.
+     *
+     * @param ownerId идентификатор владельца вещи.
+     * @return условие выборки.
+     */
+    public static Specification<Booking> hasItemOwner(long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), ownerId);
+    }
+
+    /**
+     * Брони в определенном состоянии на момент времени.
+     *
+     * @param state состояние для поиска броней.
+     * @param now   момент времени, относительно которого определяется состояние.
+     * @return условие выборки.
+     */
+    public static Specification<Booking> inState(BookingSearchState state, LocalDateTime now) {
+        return (root, query, cb) -> switch (state) {
+            case ALL -> null;
+            case PAST -> cb.lessThan(root.get("end"), now);
+            case FUTURE -> cb.greaterThan(root.get("start"), now);
+            case CURRENT -> cb.and(cb.lessThan(root.get("start"), now), cb.greaterThan(root.get("end"), now));
+            case WAITING -> cb.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED -> cb.equal(root.get("status"), BookingStatus.REJECTED);
+        };
+    }
+}
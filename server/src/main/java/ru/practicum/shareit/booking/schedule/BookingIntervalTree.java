@@ -0,0 +1,307 @@
+package ru.practicum.shareit.booking.schedule;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Дерево интервалов броней одной вещи.
+ * <p>
+ * Сбалансированное (AVL) дерево, упорядоченное по дате начала и идентификатору брони. Каждый узел хранит наибольшую
+ * дату окончания в своём поддереве, поэтому поиск пересечения спускается по одной ветви и занимает O(log n).
+ * Дерево не потокобезопасно.
+ */
+final class BookingIntervalTree {
+    /**
+     * Порядок узлов дерева: по дате начала бронирования и идентификатору брони.
+     */
+    private static final Comparator<Node> NODE_ORDER = Comparator.<Node, LocalDateTime>comparing(n -> n.start).thenComparingLong(n -> n.id);
+
+    /**
+     * Корень дерева.
+     */
+    private Node root;
+
+    /**
+     * Количество интервалов в дереве.
+     */
+    private int size;
+
+    /**
+     * Проверить, пересекается ли период хотя бы с одним интервалом дерева.
+     *
+     * @param start дата начала периода.
+     * @param end   дата окончания периода.
+     * @return признак пересечения.
+     */
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start.isBefore(end) && node.end.isAfter(start)) {
+                return true;
+            }
+
+            // Если в левом поддереве есть интервал, заканчивающийся позже начала периода, но пересечения там нет,
+            // то этот интервал начинается не раньше окончания периода, а интервалы правого поддерева - ещё позже.
+            if (node.left != null && node.left.maxEnd.isAfter(start)) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Добавить интервал брони.
+     *
+     * @param id    идентификатор брони.
+     * @param start дата начала бронирования.
+     * @param end   дата окончания бронирования.
+     */
+    void add(long id, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, new Node(id, start, end));
+    }
+
+    /**
+     * Удалить интервал брони.
+     *
+     * @param id    идентификатор брони.
+     * @param start дата начала бронирования.
+     */
+    void remove(long id, LocalDateTime start) {
+        root = delete(root, new Node(id, start, start));
+    }
+
+    /**
+     * Получить количество интервалов в дереве.
+     *
+     * @return количество интервалов.
+     */
+    int size() {
+        return size;
+    }
+
+    //region Facilities
+
+    /**
+     * Вставить узел в поддерево.
+     *
+     * @param node    корень поддерева.
+     * @param newNode новый узел.
+     * @return новый корень поддерева.
+     */
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            size++;
+            return newNode;
+        }
+
+        int cmp = NODE_ORDER.compare(newNode, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, newNode);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, newNode);
+        } else {
+            return node;
+        }
+
+        return balance(node);
+    }
+
+    /**
+     * Удалить узел из поддерева.
+     *
+     * @param node корень поддерева.
+     * @param key  узел с датой начала и идентификатором удаляемого интервала.
+     * @return новый корень поддерева.
+     */
+    private Node delete(Node node, Node key) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = NODE_ORDER.compare(key, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, key);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, key);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+
+        return balance(node);
+    }
+
+    /**
+     * Удалить из поддерева узел с наименьшим ключом.
+     *
+     * @param node корень поддерева.
+     * @return новый корень поддерева.
+     */
+    private Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    /**
+     * Восстановить баланс узла после изменения его поддеревьев.
+     *
+     * @param node узел.
+     * @return новый корень поддерева.
+     */
+    private Node balance(Node node) {
+        update(node);
+
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Повернуть поддерево вправо.
+     *
+     * @param node корень поддерева.
+     * @return новый корень поддерева.
+     */
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+
+        update(node);
+        update(left);
+        return left;
+    }
+
+    /**
+     * Повернуть поддерево влево.
+     *
+     * @param node корень поддерева.
+     * @return новый корень поддерева.
+     */
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+
+        update(node);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Пересчитать высоту узла и наибольшую дату окончания в его поддереве.
+     *
+     * @param node узел.
+     */
+    private void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    /**
+     * Получить высоту поддерева.
+     *
+     * @param node корень поддерева.
+     * @return высота поддерева.
+     */
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Узел дерева - интервал брони.
+     */
+    private static final class Node {
+        /**
+         * Идентификатор брони.
+         */
+        private final long id;
+
+        /**
+         * Дата начала бронирования.
+         */
+        private final LocalDateTime start;
+
+        /**
+         * Дата окончания бронирования.
+         */
+        private final LocalDateTime end;
+
+        /**
+         * Наибольшая дата окончания бронирования в поддереве.
+         */
+        private LocalDateTime maxEnd;
+
+        /**
+         * Высота поддерева.
+         */
+        private int height = 1;
+
+        /**
+         * Левое поддерево.
+         */
+        private Node left;
+
+        /**
+         * Правое поддерево.
+         */
+        private Node right;
+
+        /**
+         * Конструктор.
+         *
+         * @param id    идентификатор брони.
+         * @param start дата начала бронирования.
+         * @param end   дата окончания бронирования.
+         */
+        private Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.schedule;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Контракт расписания подтвержденных броней вещей.
+ * <p>
+ * Периоды броней считаются полуоткрытыми: бронь, которая заканчивается в момент начала другой, с ней не пересекается.
+ * Проверка и изменение расписания одной вещи должны выполняться в транзакции, заблокировавшей запись вещи.
+ */
+public interface BookingSchedule {
+    /**
+     * Проверить, свободна ли вещь в указанный период.
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  дата начала периода.
+     * @param end    дата окончания периода.
+     * @return {@code true}, если период не пересекается ни с одной подтвержденной бронью вещи.
+     */
+    boolean isAvailable(long itemId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Учесть подтвержденную бронь в расписании вещи.
+     *
+     * @param booking бронь.
+     */
+    void add(Booking booking);
+
+    /**
+     * Сбросить расписания всех вещей, например, после каскадного удаления броней в базе данных.
+     */
+    void evictAll();
+}
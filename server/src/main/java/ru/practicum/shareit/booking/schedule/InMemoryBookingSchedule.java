@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.schedule;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Расписание подтвержденных броней вещей в памяти приложения.
+ * <p>
+ * Используется с H2, где нет ограничений-исключений PostgreSQL. Для каждой вещи, к которой недавно обращались,
+ * хранится дерево интервалов её подтвержденных броней; дерево загружается из хранилища при первом обращении
+ * и вытесняется по размеру кэша.
+ */
+@Component
+@Profile("test")
+public final class InMemoryBookingSchedule implements BookingSchedule {
+    /**
+     * Хранилище броней.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Кэш: идентификатор вещи - дерево интервалов подтвержденных броней вещи.
+     */
+    private final Cache<Long, BookingIntervalTree> trees;
+
+    /**
+     * Конструктор.
+     *
+     * @param bookingRepository хранилище броней.
+     * @param maximumSize       максимальное количество вещей в кэше.
+     */
+    public InMemoryBookingSchedule(BookingRepository bookingRepository,
+                                   @Value("${shareit.booking-schedule.maximum-size}") long maximumSize) {
+        this.bookingRepository = bookingRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Проверить, свободна ли вещь в указанный период.
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  дата начала периода.
+     * @param end    дата окончания периода.
+     * @return {@code true}, если период не пересекается ни с одной подтвержденной бронью вещи.
+     */
+    @Override
+    public boolean isAvailable(long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingIntervalTree tree = getTree(itemId);
+
+        synchronized (tree) {
+            return !tree.overlaps(start, end);
+        }
+    }
+
+    /**
+     * Учесть подтвержденную бронь в расписании вещи.
+     * <p>
+     * Бронь добавляется сразу, чтобы следующая транзакция, заблокировавшая вещь, её увидела, и убирается,
+     * если транзакция откатится.
+     *
+     * @param booking бронь.
+     */
+    @Override
+    public void add(Booking booking) {
+        BookingIntervalTree tree = getTree(booking.getItem().getId());
+
+        synchronized (tree) {
+            tree.add(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (tree) {
+                            tree.remove(booking.getId(), booking.getStart());
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Сбросить расписания всех вещей.
+     */
+    @Override
+    public void evictAll() {
+        trees.invalidateAll();
+    }
+
+    //region Facilities
+
+    /**
+     * Получить дерево интервалов подтвержденных броней вещи, при необходимости загрузив его из хранилища.
+     *
+     * @param itemId идентификатор вещи.
+     * @return дерево интервалов.
+     */
+    private BookingIntervalTree getTree(long itemId) {
+        return trees.get(itemId, id -> {
+            BookingIntervalTree tree = new BookingIntervalTree();
+            bookingRepository.findByItemIdAndStatus(id, BookingStatus.APPROVED)
+                    .forEach(interval -> tree.add(interval.getId(), interval.getStart(), interval.getEnd()));
+            return tree;
+        });
+    }
+
+    //endregion
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.schedule;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Расписание подтвержденных броней вещей на основе PostgreSQL.
+ * <p>
+ * Пересечения проверяются запросом к броням по индексу {@code idx_bookings_item_start}. Подтвержденные брони
+ * одной вещи дополнительно защищены ограничением-исключением {@code bookings_approved_no_overlap}
+ * из миграции {@code db/migration/postgresql/V10}, поэтому отдельная синхронизация при изменении броней не требуется.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public final class PostgresBookingSchedule implements BookingSchedule {
+    /**
+     * Хранилище броней.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Проверить, свободна ли вещь в указанный период.
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  дата начала периода.
+     * @param end    дата окончания периода.
+     * @return {@code true}, если период не пересекается ни с одной подтвержденной бронью вещи.
+     */
+    @Override
+    public boolean isAvailable(long itemId, LocalDateTime start, LocalDateTime end) {
+        return !bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED, end, start);
+    }
+
+    /**
+     * Учесть подтвержденную бронь в расписании вещи.
+     *
+     * @param booking бронь.
+     */
+    @Override
+    public void add(Booking booking) {
+    }
+
+    /**
+     * Сбросить расписания всех вещей.
+     */
+    @Override
+    public void evictAll() {
+    }
+}
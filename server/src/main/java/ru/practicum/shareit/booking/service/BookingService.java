@@ -1,9 +1,13 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
 import ru.practicum.shareit.booking.model.BookingSearchState;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Контракт сервиса для работы с бронями.
@@ -17,6 +21,15 @@ public interface BookingService {
      */
     Booking createBooking(Booking booking);
 
+    /**
+     * Создать пакет броней пользователя.
+     *
+     * @param bookerId идентификатор пользователя, желающего забронировать вещи.
+     * @param bookings брони.
+     * @return результаты создания броней в порядке следования броней в пакете.
+     */
+    List<BookingBatchResult> createBookings(long bookerId, List<Booking> bookings);
+
     /**
      * Получить бронь.
      *
@@ -31,21 +44,31 @@ public interface BookingService {
      *
      * @param bookerId идентификатор пользователя, осуществившего бронь.
      * @param state    состояние для поиска броней.
+     * @param from     количество броней, которое надо пропустить.
+     * @param size     количество броней, которое надо получить.
+     * @param after    курсор, после которого надо получить брони; если указан, параметр from не учитывается.
      * @return коллекция броней.
      */
-    Collection<Booking> getBookings(long bookerId, BookingSearchState state);
+    Window<Booking> getBookings(long bookerId, BookingSearchState state, int from, int size, TimestampCursor after);
 
     /**
      * Получить коллекцию броней владельца вещи в определенном состоянии.
      *
      * @param ownerId идентификатор владельца вещи.
      * @param state   состояние для поиска броней.
+     * @param from    количество броней, которое надо пропустить.
+     * @param size    количество броней, которое надо получить.
+     * @param after   курсор, после которого надо получить брони; если указан, параметр from не учитывается.
      * @return коллекция броней.
      */
-    Collection<Booking> getOwnerBookings(long ownerId, BookingSearchState state);
+    Window<Booking> getOwnerBookings(long ownerId, BookingSearchState state, int from, int size, TimestampCursor after);
 
     /**
      * Подтвердить/отклонить бронь.
+     * <p>
+     * Подтвердить или отклонить можно только бронь, ожидающую подтверждения; для уже подтвержденной или отклоненной
+     * брони, как и для брони, пересекающейся с подтвержденной бронью вещи, выбрасывается
+     * {@link ru.practicum.shareit.exception.BookingConflictException}.
      *
      * @param bookingId идентификатор бронь.
      * @param ownerId   идентификатор владельца вещи.
@@ -53,4 +76,14 @@ public interface BookingService {
      * @return бронь.
      */
     Booking approveBooking(long bookingId, long ownerId, boolean approved);
+
+    /**
+     * Подтвердить/отклонить брони вещей владельца.
+     *
+     * @param ownerId    идентификатор владельца вещей.
+     * @param bookingIds коллекция идентификаторов броней.
+     * @param approved   признак подтверждения броней.
+     * @return измененные брони.
+     */
+    List<Booking> approveBookings(long ownerId, Collection<Long> bookingIds, boolean approved);
 }
@@ -1,21 +1,46 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalState;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingSearchState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingInterval;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
+import ru.practicum.shareit.user.index.UserIdIndex;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с бронями.
@@ -23,40 +48,145 @@ import java.util.Collection;
 @RequiredArgsConstructor
 @Service
 public final class BookingServiceImpl implements BookingService {
+    /**
+     * Порядок вывода броней: по убыванию даты начала бронирования и идентификатора.
+     */
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "start", "id");
+
     /**
      * Хранилище броней.
      */
     private final BookingRepository bookingRepository;
 
+    /**
+     * Кэш календарей доступности вещей.
+     */
+    private final ItemAvailabilityCache itemAvailabilityCache;
+
+    /**
+     * Сервис для работы со сводками ближайших бронирований вещей.
+     */
+    private final ItemBookingSummaryService itemBookingSummaryService;
+
+    /**
+     * Расписание подтвержденных броней вещей.
+     */
+    private final BookingSchedule bookingSchedule;
+
     /**
      * Хранилище вещей.
      */
     private final ItemRepository itemRepository;
 
     /**
-     * Хранилище пользователей.
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Индекс идентификаторов существующих пользователей.
      */
-    private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
 
     /**
      * Создать бронь.
+     * <p>
+     * Бронь не создается, если её период пересекается с подтвержденной бронью той же вещи.
      *
      * @param booking бронь.
      * @return бронь.
      */
     @Override
     public Booking createBooking(Booking booking) {
-        User booker = userRepository.findById(booking.getBooker().getId()).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", booking.getBooker().getId())));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            User booker = userIdIndex.findById(booking.getBooker().getId()).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", booking.getBooker().getId())));
 
-        Item item = itemRepository.findById(booking.getItem().getId()).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", booking.getItem().getId())));
-        if (!item.getAvailable()) {
-            throw new BookingException(String.format("Вещь с id = %d недоступна для бронирования", booking.getItem().getId()));
-        }
+            Item item = itemRepository.findById(booking.getItem().getId()).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", booking.getItem().getId())));
+            if (!item.getAvailable()) {
+                throw new BookingException(String.format("Вещь с id = %d недоступна для бронирования", booking.getItem().getId()));
+            }
+
+            booking.setBooker(booker);
+            booking.setItem(item);
+
+            boolean approved = booking.getStatus() == BookingStatus.APPROVED;
+            if (approved) {
+                lockItem(item.getId());
+            }
+            throwIfOverlapping(item.getId(), booking.getStart(), booking.getEnd());
+
+            Booking createdBooking = saveBooking(booking);
+            if (approved) {
+                bookingSchedule.add(createdBooking);
+                itemAvailabilityCache.invalidate(item.getId());
+            }
+            itemBookingSummaryService.invalidate(List.of(item.getId()));
+
+            return createdBooking;
+        });
+    }
+
+    /**
+     * Создать пакет броней пользователя.
+     * <p>
+     * Брони создаются в статусе ожидания подтверждения. Пользователь проверяется один раз, вещи и пересекающиеся
+     * с пакетом подтвержденные брони читаются по одному запросу на пакет, а брони вставляются пакетными запросами.
+     * Бронь, которую создать нельзя, не мешает созданию остальных: для неё возвращается причина отказа.
+     *
+     * @param bookerId идентификатор пользователя, желающего забронировать вещи.
+     * @param bookings брони.
+     * @return результаты создания броней в порядке следования броней в пакете.
+     */
+    @Override
+    public List<BookingBatchResult> createBookings(long bookerId, List<Booking> bookings) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            User booker = userIdIndex.findById(bookerId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", bookerId)));
+            if (bookings.isEmpty()) {
+                return List.of();
+            }
+
+            Set<Long> itemIds = bookings.stream().map(b -> b.getItem().getId()).collect(Collectors.toSet());
+            Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            LocalDateTime start = bookings.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDateTime end = bookings.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+            Map<Long, List<ItemBookingInterval>> approvedIntervals = findApprovedIntervals(items.keySet(), start, end);
+
+            List<BookingBatchResult> results = new ArrayList<>(bookings.size());
+            List<Booking> validBookings = new ArrayList<>(bookings.size());
+            for (Booking booking : bookings) {
+                long itemId = booking.getItem().getId();
+                Item item = items.get(itemId);
 
-        booking.setBooker(booker);
-        booking.setItem(item);
+                String error = null;
+                if (item == null) {
+                    error = String.format("Вещь с id = %d не найдена", itemId);
+                } else if (!item.getAvailable()) {
+                    error = String.format("Вещь с id = %d недоступна для бронирования", itemId);
+                } else if (approvedIntervals.getOrDefault(itemId, List.of()).stream()
+                        .anyMatch(i -> overlaps(i, booking.getStart(), booking.getEnd()))) {
+                    error = String.format("Вещь с id = %d уже забронирована на пересекающийся период", itemId);
+                }
 
-        return bookingRepository.save(booking);
+                if (error != null) {
+                    results.add(BookingBatchResult.builder().error(error).build());
+                    continue;
+                }
+
+                booking.setBooker(booker);
+                booking.setItem(item);
+                booking.setStatus(BookingStatus.WAITING);
+                validBookings.add(booking);
+                results.add(BookingBatchResult.builder().booking(booking).build());
+            }
+
+            bookingRepository.saveAllAndFlush(validBookings);
+            itemBookingSummaryService.invalidate(validBookings.stream().map(b -> b.getItem().getId()).distinct().toList());
+
+            return results;
+        });
     }
 
     /**
@@ -82,24 +212,18 @@ public final class BookingServiceImpl implements BookingService {
      *
      * @param bookerId идентификатор пользователя, осуществившего бронь.
      * @param state    состояние для поиска броней.
+     * @param from     количество броней, которое надо пропустить.
+     * @param size     количество броней, которое надо получить.
+     * @param after    курсор, после которого надо получить брони; если указан, параметр from не учитывается.
      * @return коллекция броней.
      */
     @Override
-    public Collection<Booking> getBookings(long bookerId, BookingSearchState state) {
-        if (!userRepository.existsById(bookerId)) {
+    public Window<Booking> getBookings(long bookerId, BookingSearchState state, int from, int size, TimestampCursor after) {
+        if (!userIdIndex.exists(bookerId)) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", bookerId));
         }
 
-        return switch (state) {
-            case ALL -> bookingRepository.findByBookerIdOrderByStartDesc(bookerId);
-            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(bookerId, LocalDateTime.now());
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(bookerId, LocalDateTime.now());
-            case CURRENT ->
-                    bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId, LocalDateTime.now(), LocalDateTime.now());
-            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.WAITING);
-            case REJECTED ->
-                    bookingRepository.findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.REJECTED);
-        };
+        return findBookings(BookingSpecifications.hasBooker(bookerId), state, from, size, after);
     }
 
     /**
@@ -107,30 +231,33 @@ public final class BookingServiceImpl implements BookingService {
      *
      * @param ownerId идентификатор владельца вещи.
      * @param state   состояние для поиска броней.
+     * @param from    количество броней, которое надо пропустить.
+     * @param size    количество броней, которое надо получить.
+     * @param after   курсор, после которого надо получить брони; если указан, параметр from не учитывается.
      * @return коллекция броней.
      */
     @Override
-    public Collection<Booking> getOwnerBookings(long ownerId, BookingSearchState state) {
-        if (!userRepository.existsById(ownerId)) {
+    public Window<Booking> getOwnerBookings(long ownerId, BookingSearchState state, int from, int size, TimestampCursor after) {
+        if (!userIdIndex.exists(ownerId)) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", ownerId));
         }
 
-        return switch (state) {
-            case ALL -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId);
-            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, LocalDateTime.now());
-            case FUTURE ->
-                    bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, LocalDateTime.now());
-            case CURRENT ->
-                    bookingRepository.findByItemOwnerIdAndStartAfterAndEndBeforeOrderByStartDesc(ownerId, LocalDateTime.now(), LocalDateTime.now());
-            case WAITING ->
-                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING);
-            case REJECTED ->
-                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED);
-        };
+        return findBookings(BookingSpecifications.hasItemOwner(ownerId), state, from, size, after);
     }
 
     /**
      * Подтвердить/отклонить бронь.
+     * <p>
+     * Решение принимается только по брони, ожидающей подтверждения: повторное подтверждение или отклонение брони,
+     * которая уже подтверждена или отклонена, завершается {@link BookingConflictException} (HTTP 409), а не
+     * перезаписью статуса. Бронь не подтверждается, если её период пересекается с другой подтвержденной бронью той же
+     * вещи. Статус меняется условным запросом без загрузки пользователя и вещи, поэтому из одновременных подтверждений
+     * и отклонений одной брони выполняется только одно.
+     * <p>
+     * Для подтверждения вещь блокируется пессимистически: проверка пересечения читает другие брони вещи, и
+     * оптимистическая блокировка по версии самой брони не заметит, что одновременно подтверждена другая бронь с
+     * пересекающимся периодом. Блокировка строки вещи выстраивает подтверждения броней одной вещи в очередь и не
+     * требует повторов при конфликте.
      *
      * @param bookingId идентификатор бронь.
      * @param ownerId   идентификатор владельца вещи.
@@ -139,18 +266,266 @@ public final class BookingServiceImpl implements BookingService {
      */
     @Override
     public Booking approveBooking(long bookingId, long ownerId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId)));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            BookingApprovalState state = bookingRepository.findApprovalStateById(bookingId).orElseThrow(() -> new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId)));
+
+            if (state.getOwnerId() != ownerId) {
+                throw new AccessDeniedException(String.format("Подтверждение брони с id = %d пользователем с id = %d запрещено", bookingId, ownerId));
+            }
+
+            if (state.getStatus() != BookingStatus.WAITING) {
+                throw new BookingConflictException(String.format("Бронь с id = %d уже подтверждена или отклонена", bookingId));
+            }
+
+            if (approved) {
+                lockItem(state.getItemId());
+                throwIfOverlapping(state.getItemId(), state.getStart(), state.getEnd());
+            }
+
+            BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            if (updateStatus(state, newStatus) == 0) {
+                throw new BookingConflictException(String.format("Бронь с id = %d уже подтверждена или отклонена", bookingId));
+            }
+
+            Booking booking = bookingRepository.findWithDetailsById(bookingId).orElseThrow(() -> new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId)));
+            if (approved) {
+                bookingSchedule.add(booking);
+                itemAvailabilityCache.invalidate(state.getItemId());
+            }
+
+            return booking;
+        });
+    }
+
+    /**
+     * Подтвердить/отклонить брони вещей владельца.
+     * <p>
+     * Брони и права владельца проверяются одним запросом, статус меняется одним запросом для всех броней.
+     * Брони, которые уже подтверждены или отклонены, не изменяются; при подтверждении не изменяются также брони,
+     * пересекающиеся с подтвержденными бронями вещи или с более ранними бронями пакета. Возвращаются только
+     * измененные брони.
+     *
+     * @param ownerId    идентификатор владельца вещей.
+     * @param bookingIds коллекция идентификаторов броней.
+     * @param approved   признак подтверждения броней.
+     * @return измененные брони.
+     */
+    @Override
+    public List<Booking> approveBookings(long ownerId, Collection<Long> bookingIds, boolean approved) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            if (bookingIds.isEmpty()) {
+                return List.of();
+            }
+
+            List<BookingApprovalState> states = bookingRepository.findApprovalStatesByIdIn(bookingIds);
+            Set<Long> foundIds = states.stream().map(BookingApprovalState::getId).collect(Collectors.toSet());
+            for (long bookingId : bookingIds) {
+                if (!foundIds.contains(bookingId)) {
+                    throw new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId));
+                }
+            }
+            for (BookingApprovalState state : states) {
+                if (state.getOwnerId() != ownerId) {
+                    throw new AccessDeniedException(String.format("Подтверждение брони с id = %d пользователем с id = %d запрещено", state.getId(), ownerId));
+                }
+            }
+
+            List<BookingApprovalState> waitingStates = states.stream()
+                    .filter(s -> s.getStatus() == BookingStatus.WAITING)
+                    .toList();
+            List<Long> updatedIds = approved ? selectApprovable(waitingStates) : waitingStates.stream().map(BookingApprovalState::getId).toList();
+            if (updatedIds.isEmpty()) {
+                return List.of();
+            }
+
+            BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            updateStatuses(updatedIds, ownerId, newStatus);
+
+            List<Booking> updatedBookings = bookingRepository.findWithDetailsByIdInAndStatus(updatedIds, newStatus);
+            if (approved) {
+                updatedBookings.forEach(bookingSchedule::add);
+                updatedBookings.stream().map(b -> b.getItem().getId()).distinct().forEach(itemAvailabilityCache::invalidate);
+            }
+
+            return updatedBookings;
+        });
+    }
+
+    //region Facilities
+
+    /**
+     * Заблокировать вещь до конца транзакции.
+     * <p>
+     * Подтверждения броней одной вещи выполняются последовательно, поэтому проверка пересечения с подтвержденными
+     * бронями и подтверждение новой брони не разделяются другими подтверждениями.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    private void lockItem(long itemId) {
+        itemRepository.findByIdForUpdate(itemId);
+    }
 
-        if (booking.getItem().getOwner().getId() != ownerId) {
-            throw new AccessDeniedException(String.format("Подтверждение брони с id = %d пользователем с id = %d запрещено", bookingId, ownerId));
+    /**
+     * Выбросить исключение, если период пересекается с подтвержденной бронью вещи.
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  дата начала периода.
+     * @param end    дата окончания периода.
+     */
+    private void throwIfOverlapping(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!bookingSchedule.isAvailable(itemId, start, end)) {
+            throw new BookingConflictException(String.format("Вещь с id = %d уже забронирована на пересекающийся период", itemId));
+        }
+    }
+
+    /**
+     * Получить подтвержденные брони вещей, пересекающиеся с периодом.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     * @param start   дата начала периода.
+     * @param end     дата окончания периода.
+     * @return изменяемые списки периодов подтвержденных броней, сгруппированные по идентификатору вещи.
+     */
+    private Map<Long, List<ItemBookingInterval>> findApprovedIntervals(Set<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        return bookingRepository.findItemIntervals(itemIds, BookingStatus.APPROVED, end, start).stream()
+                .collect(Collectors.groupingBy(ItemBookingInterval::getItemId, HashMap::new, Collectors.toCollection(ArrayList::new)));
+    }
+
+    /**
+     * Отобрать брони, ожидающие подтверждения, которые можно подтвердить.
+     * <p>
+     * Вещи броней блокируются до конца транзакции. Брони рассматриваются по возрастанию даты начала бронирования;
+     * бронь отбирается, если не пересекается ни с подтвержденными бронями вещи, ни с уже отобранными бронями.
+     *
+     * @param states сведения о бронях, ожидающих подтверждения.
+     * @return идентификаторы броней, которые можно подтвердить.
+     */
+    private List<Long> selectApprovable(List<BookingApprovalState> states) {
+        if (states.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> itemIds = states.stream().map(BookingApprovalState::getItemId).collect(Collectors.toSet());
+        itemRepository.findAllByIdForUpdate(itemIds);
+        LocalDateTime start = states.stream().map(BookingApprovalState::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = states.stream().map(BookingApprovalState::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<ItemBookingInterval>> approvedIntervals = findApprovedIntervals(itemIds, start, end);
+
+        List<Long> approvableIds = new ArrayList<>();
+        states.stream()
+                .sorted(Comparator.comparing(BookingApprovalState::getStart).thenComparingLong(BookingApprovalState::getId))
+                .forEach(state -> {
+                    List<ItemBookingInterval> itemIntervals = approvedIntervals.computeIfAbsent(state.getItemId(), id -> new ArrayList<>());
+                    if (itemIntervals.stream().noneMatch(i -> overlaps(i, state.getStart(), state.getEnd()))) {
+                        itemIntervals.add(state);
+                        approvableIds.add(state.getId());
+                    }
+                });
+
+        return approvableIds;
+    }
+
+    /**
+     * Проверить, пересекается ли период брони с указанным периодом.
+     *
+     * @param interval период брони.
+     * @param start    дата начала периода.
+     * @param end      дата окончания периода.
+     * @return признак пересечения.
+     */
+    private static boolean overlaps(BookingInterval interval, LocalDateTime start, LocalDateTime end) {
+        return interval.getStart().isBefore(end) && interval.getEnd().isAfter(start);
+    }
+
+    /**
+     * Сохранить бронь.
+     *
+     * @param booking бронь.
+     * @return бронь.
+     */
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            // Ограничение-исключение PostgreSQL не пропускает подтвержденные брони вещи с пересекающимися периодами.
+            throw new BookingConflictException(String.format("Вещь с id = %d уже забронирована на пересекающийся период", booking.getItem().getId()));
+        }
+    }
+
+    /**
+     * Получить брони по условию выборки в определенном состоянии.
+     *
+     * @param specification условие выборки броней.
+     * @param state         состояние для поиска броней.
+     * @param from          количество броней, которое надо пропустить.
+     * @param size          количество броней, которое надо получить.
+     * @param after         курсор, после которого надо получить брони; если указан, параметр from не учитывается.
+     * @return коллекция броней.
+     */
+    private Window<Booking> findBookings(Specification<Booking> specification, BookingSearchState state, int from, int size, TimestampCursor after) {
+        Specification<Booking> filter = specification
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        ScrollPosition position = getScrollPosition(from, after);
+
+        return bookingRepository.findBy(filter, query -> query
+                .sortBy(BOOKING_ORDER)
+                .limit(size)
+                .scroll(position));
+    }
+
+    /**
+     * Получить позицию для выборки броней.
+     *
+     * @param from  количество броней, которое надо пропустить.
+     * @param after курсор, после которого надо получить брони.
+     * @return позиция для выборки броней.
+     */
+    private ScrollPosition getScrollPosition(int from, TimestampCursor after) {
+        if (after != null) {
+            return after.toScrollPosition("start");
         }
 
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        // Позиция смещения указывает на последнюю пропущенную бронь, выборка начинается со следующей.
+        return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+    }
+
+    /**
+     * Изменить статус брони, ожидающей подтверждения.
+     *
+     * @param state     сведения о брони.
+     * @param newStatus новый статус брони.
+     * @return количество измененных броней.
+     */
+    private int updateStatus(BookingApprovalState state, BookingStatus newStatus) {
+        try {
+            return bookingRepository.updateStatus(state.getId(), BookingStatus.WAITING, newStatus);
+        } catch (DataIntegrityViolationException e) {
+            // Ограничение-исключение PostgreSQL не пропускает подтвержденные брони вещи с пересекающимися периодами.
+            throw new BookingConflictException(String.format("Вещь с id = %d уже забронирована на пересекающийся период", state.getItemId()));
         }
+    }
 
-        return bookingRepository.save(booking);
+    /**
+     * Изменить статус броней вещей владельца, ожидающих подтверждения.
+     *
+     * @param bookingIds коллекция идентификаторов броней.
+     * @param ownerId    идентификатор владельца вещей.
+     * @param newStatus  новый статус броней.
+     */
+    private void updateStatuses(Collection<Long> bookingIds, long ownerId, BookingStatus newStatus) {
+        try {
+            bookingRepository.updateOwnerStatuses(bookingIds, ownerId, BookingStatus.WAITING, newStatus);
+        } catch (DataIntegrityViolationException e) {
+            // Ограничение-исключение PostgreSQL не пропускает подтвержденные брони вещи с пересекающимися периодами.
+            throw new BookingConflictException("Брони пересекаются с подтвержденными бронями вещей");
+        }
     }
+
+    //endregion
 }
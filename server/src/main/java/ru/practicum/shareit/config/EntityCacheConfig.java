@@ -0,0 +1,58 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Настройка кэша сущностей второго уровня Hibernate.
+ * <p>
+ * Кэши создаются заранее с размером и временем жизни из настроек shareit.entity-cache.* и передаются Hibernate
+ * через собственный менеджер кэшей, чтобы несколько контекстов приложения в одной JVM не делили кэши между собой.
+ */
+@Configuration
+public class EntityCacheConfig {
+    /**
+     * Область кэша пользователей.
+     */
+    public static final String USER_REGION = "users";
+
+    /**
+     * Область кэша вещей.
+     */
+    public static final String ITEM_REGION = "items";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${shareit.entity-cache.maximum-size}") long maximumSize,
+                                           @Value("${shareit.entity-cache.expire-after-write}") Duration expireAfterWrite) {
+        CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = cachingProvider.getCacheManager(URI.create("shareit:entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        configuration.setStatisticsEnabled(true);
+
+        cacheManager.createCache(USER_REGION, configuration);
+        cacheManager.createCache(ITEM_REGION, configuration);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -4,11 +4,17 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import ru.practicum.shareit.booking.converter.BookingSearchStateConverter;
+import ru.practicum.shareit.item.converter.ItemSearchCursorConverter;
+import ru.practicum.shareit.item.converter.ItemSearchModeConverter;
+import ru.practicum.shareit.pagination.converter.TimestampCursorConverter;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new BookingSearchStateConverter());
+        registry.addConverter(new ItemSearchCursorConverter());
+        registry.addConverter(new ItemSearchModeConverter());
+        registry.addConverter(new TimestampCursorConverter());
     }
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Исключение, выбрасываемое, если период брони пересекается с подтвержденной бронью той же вещи.
+ */
+public class BookingConflictException extends RuntimeException {
+    /**
+     * Конструктор.
+     *
+     * @param message сообщение.
+     */
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
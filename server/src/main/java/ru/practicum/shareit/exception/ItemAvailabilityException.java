@@ -0,0 +1,15 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Исключение, выбрасываемое при некорректном периоде календаря доступности вещи.
+ */
+public class ItemAvailabilityException extends RuntimeException {
+    /**
+     * Конструктор.
+     *
+     * @param message сообщение.
+     */
+    public ItemAvailabilityException(String message) {
+        super(message);
+    }
+}
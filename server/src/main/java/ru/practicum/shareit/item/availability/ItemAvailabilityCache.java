@@ -0,0 +1,119 @@
+package ru.practicum.shareit.item.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.ItemAvailability;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Кэш календарей доступности вещей.
+ * <p>
+ * Хранит календари по вещи и периоду. Записи вытесняются по размеру кэша и времени жизни, а при создании
+ * или подтверждении брони удаляются все календари забронированной вещи. Статистика попаданий и промахов
+ * публикуется в метриках cache.* с тегом cache=itemAvailability.
+ */
+@Component
+public final class ItemAvailabilityCache {
+    /**
+     * Название кэша в метриках.
+     */
+    private static final String CACHE_NAME = "itemAvailability";
+
+    /**
+     * Кэш: вещь и период - календарь доступности вещи.
+     */
+    private final Cache<Key, ItemAvailability> cache;
+
+    /**
+     * Конструктор.
+     *
+     * @param maximumSize      максимальное количество календарей в кэше.
+     * @param expireAfterWrite время жизни записи кэша.
+     * @param meterRegistry    реестр метрик.
+     */
+    public ItemAvailabilityCache(@Value("${shareit.item-availability.cache.maximum-size}") long maximumSize,
+                                 @Value("${shareit.item-availability.cache.expire-after-write}") Duration expireAfterWrite,
+                                 MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Получить календарь доступности вещи из кэша или построить его и сохранить в кэше.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @param build  построение календаря.
+     * @return календарь доступности вещи.
+     */
+    public ItemAvailability get(long itemId, LocalDateTime from, LocalDateTime to, Supplier<ItemAvailability> build) {
+        return cache.get(new Key(itemId, from, to), k -> build.get());
+    }
+
+    /**
+     * Удалить из кэша календари вещи.
+     * <p>
+     * Если вызов выполняется в транзакции, календари удаляются после её фиксации, чтобы запросы, прочитавшие брони
+     * до фиксации, не оставили в кэше устаревший календарь.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    public void invalidate(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(itemId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(itemId);
+            }
+        });
+    }
+
+    /**
+     * Удалить из кэша календари всех вещей.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    //region Facilities
+
+    /**
+     * Удалить из кэша календари вещи.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    private void evict(long itemId) {
+        cache.asMap().keySet().removeIf(key -> key.itemId() == itemId);
+    }
+
+    /**
+     * Ключ кэша календарей доступности.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     */
+    private record Key(long itemId, LocalDateTime from, LocalDateTime to) {
+    }
+
+    //endregion
+}
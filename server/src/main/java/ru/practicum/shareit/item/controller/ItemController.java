@@ -1,13 +1,30 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchMode;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPageResponses;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 /**
@@ -22,6 +39,11 @@ public final class ItemController {
      */
     private final ItemService itemService;
 
+    /**
+     * Преобразователь объектов в JSON.
+     */
+    private final ObjectMapper objectMapper;
+
     /**
      * Создать вещь.
      *
@@ -62,13 +84,51 @@ public final class ItemController {
 
     /**
      * Поиск вещей.
+     * <p>
+     * Если за страницей есть ещё вещи, в заголовок X-Next-Cursor помещается курсор для получения следующей страницы.
      *
-     * @param text текст для поиска.
+     * @param text  текст для поиска.
+     * @param mode  режим поиска.
+     * @param from  количество вещей, которое надо пропустить.
+     * @param size  количество вещей, которое надо получить.
+     * @param after курсор, после которого надо получить вещи; если указан, параметр from не учитывается.
      * @return список вещей.
      */
     @GetMapping("/search")
-    public Collection<ItemDto> search(@RequestParam(required = false) String text) {
-        return ItemMapper.mapToItemDtoCollection(itemService.search(text));
+    public ResponseEntity<Collection<ItemDto>> search(@RequestParam(required = false) String text,
+                                                      @RequestParam(defaultValue = "SUBSTRING") ItemSearchMode mode,
+                                                      @RequestParam(defaultValue = "0") int from,
+                                                      @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam(required = false) ItemSearchCursor after) {
+        Window<Item> items = itemService.search(text, mode, from, size, after);
+
+        return CursorPageResponses.of(items, item -> ItemSearchCursor.of((KeysetScrollPosition) items.positionAt(item)).toToken(),
+                ItemMapper.mapToItemDtoCollection(items.getContent()));
+    }
+
+    /**
+     * Выгрузить все доступные вещи, в названии или описании которых есть фрагмент текста.
+     * <p>
+     * Вещи записываются в ответ по мере чтения из базы данных, поэтому расход памяти не зависит от их числа.
+     *
+     * @param text текст для поиска.
+     * @return поток вещей в формате JSON.
+     */
+    @GetMapping(path = "/search/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamSearch(@RequestParam(required = false) String text) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                itemService.streamSearch(text, item -> {
+                    try {
+                        generator.writeObject(ItemMapper.mapToItemDto(item));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
     }
 
     /**
@@ -100,4 +160,41 @@ public final class ItemController {
                                        @RequestBody CreateCommentDto dto) {
         return CommentMapper.mapToCommentDto(itemService.addCommentToItem(CommentMapper.mapToComment(authorId, itemId, dto)));
     }
+
+    /**
+     * Получить комментарии к вещи, начиная с самых новых.
+     * <p>
+     * Если за страницей есть ещё комментарии, в заголовок X-Next-Cursor помещается курсор для получения следующей страницы.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   количество комментариев, которое надо пропустить.
+     * @param size   количество комментариев, которое надо получить.
+     * @param after  курсор, после которого надо получить комментарии; если указан, параметр from не учитывается.
+     * @return список комментариев.
+     */
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Collection<CommentDto>> getItemComments(@PathVariable long itemId,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                  @RequestParam(required = false) TimestampCursor after) {
+        Window<Comment> comments = itemService.getItemComments(itemId, from, size, after);
+
+        return CursorPageResponses.of(comments, comment -> TimestampCursor.of(comment.getCreated(), comment.getId()).toToken(),
+                CommentMapper.mapToCommentDtoCollection(comments.getContent()));
+    }
+
+    /**
+     * Получить календарь доступности вещи за период: занятые подтвержденными бронями интервалы и свободные окна.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @return календарь доступности вещи.
+     */
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@PathVariable long itemId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ItemMapper.mapToItemAvailabilityDto(itemService.getItemAvailability(itemId, from, to));
+    }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.converter;
+
+import org.springframework.core.convert.converter.Converter;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+
+public final class ItemSearchCursorConverter implements Converter<String, ItemSearchCursor> {
+    @Override
+    public ItemSearchCursor convert(String source) {
+        return ItemSearchCursor.parse(source);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.converter;
+
+import org.springframework.core.convert.converter.Converter;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+
+public final class ItemSearchModeConverter implements Converter<String, ItemSearchMode> {
+    @Override
+    public ItemSearchMode convert(String source) {
+        return ItemSearchMode.valueOf(source);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Трансферный объект для интервала календаря доступности вещи.
+ */
+@Builder(toBuilder = true)
+@Data
+public final class AvailabilityIntervalDto {
+    /**
+     * Начало интервала.
+     */
+    private final LocalDateTime start;
+
+    /**
+     * Окончание интервала.
+     */
+    private final LocalDateTime end;
+}
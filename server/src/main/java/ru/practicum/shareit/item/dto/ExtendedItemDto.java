@@ -33,7 +33,12 @@ public final class ExtendedItemDto {
     private final Boolean available;
 
     /**
-     * Комментарии к вещи.
+     * Количество комментариев к вещи.
+     */
+    private final long commentCount;
+
+    /**
+     * Последние комментарии к вещи, начиная с самых новых.
      */
     private Collection<String> comments;
 
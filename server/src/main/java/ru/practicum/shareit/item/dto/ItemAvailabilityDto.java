@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Трансферный объект для календаря доступности вещи.
+ */
+@Builder(toBuilder = true)
+@Data
+public final class ItemAvailabilityDto {
+    /**
+     * Идентификатор вещи.
+     */
+    private final long itemId;
+
+    /**
+     * Начало периода.
+     */
+    private final LocalDateTime from;
+
+    /**
+     * Окончание периода.
+     */
+    private final LocalDateTime to;
+
+    /**
+     * Занятые интервалы.
+     */
+    private final Collection<AvailabilityIntervalDto> busy;
+
+    /**
+     * Свободные интервалы.
+     */
+    private final Collection<AvailabilityIntervalDto> free;
+}
@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 public class CommentMapper {
     public static Comment mapToComment(long authorId, long itemId, CreateCommentDto dto) {
@@ -28,4 +29,8 @@ public class CommentMapper {
                 .created(comment.getCreated())
                 .build();
     }
+
+    public static Collection<CommentDto> mapToCommentDtoCollection(Collection<Comment> commentCollection) {
+        return commentCollection.stream().map(CommentMapper::mapToCommentDto).toList();
+    }
 }
@@ -1,17 +1,21 @@
 package ru.practicum.shareit.item.mapper;
 
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.model.AvailabilityInterval;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Маппер для моделей вещи.
@@ -74,26 +78,24 @@ public final class ItemMapper {
     /**
      * Преобразовать объект вещи в расширенный трансферный объект для сущности "Вещь".
      *
-     * @param item вещь.
+     * @param item         вещь.
+     * @param bookingDates даты ближайших бронирований вещи; могут отсутствовать.
+     * @param comments     тексты последних комментариев к вещи.
      * @return расширенный трансферный объект для сущности "Вещь".
      */
-    public static ExtendedItemDto mapToExtendedItemDto(Item item, Collection<Booking> itemBookings) {
+    public static ExtendedItemDto mapToExtendedItemDto(Item item, ItemBookingDates bookingDates, Collection<String> comments) {
         ExtendedItemDto.ExtendedItemDtoBuilder builder = ExtendedItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .comments(item.getComments());
-
-        itemBookings.stream()
-                .filter(b -> b.getStart().isBefore(LocalDateTime.now()) && b.getEnd().isAfter(LocalDateTime.now()))
-                .findFirst()
-                .ifPresent(booking -> builder.lastBooking(booking.getEnd()));
+                .commentCount(item.getCommentCount())
+                .comments(comments);
 
-        itemBookings.stream()
-                .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStart))
-                .ifPresent(booking -> builder.nextBooking(booking.getStart()));
+        if (bookingDates != null) {
+            builder.lastBooking(bookingDates.getLastBooking())
+                    .nextBooking(bookingDates.getNextBooking());
+        }
 
         return builder.build();
     }
@@ -112,9 +114,43 @@ public final class ItemMapper {
      * Преобразовать список вещей в список расширенных трансферных объектов для сущности "Вещь".
      *
      * @param itemCollection список вещей.
+     * @param bookingDates   даты ближайших бронирований вещей, сгруппированные по идентификатору вещи.
+     * @param comments       тексты последних комментариев к вещам, сгруппированные по идентификатору вещи.
      * @return список расширенных трансферных объектов для сущности "Вещь".
      */
-    public static Collection<ExtendedItemDto> mapToExtendedItemDtoCollection(Collection<Item> itemCollection, Collection<Booking> itemBookingsCollection) {
-        return itemCollection.stream().map(i -> mapToExtendedItemDto(i, itemBookingsCollection.stream().filter(b -> b.getItem().getId() == i.getId()).toList())).toList();
+    public static Collection<ExtendedItemDto> mapToExtendedItemDtoCollection(Collection<Item> itemCollection, Map<Long, ? extends ItemBookingDates> bookingDates, Map<Long, List<String>> comments) {
+        return itemCollection.stream().map(i -> mapToExtendedItemDto(i, bookingDates.get(i.getId()), comments.getOrDefault(i.getId(), List.of()))).toList();
+    }
+
+    /**
+     * Преобразовать календарь доступности вещи в трансферный объект.
+     *
+     * @param availability календарь доступности вещи.
+     * @return трансферный объект для календаря доступности вещи.
+     */
+    public static ItemAvailabilityDto mapToItemAvailabilityDto(ItemAvailability availability) {
+        return ItemAvailabilityDto.builder()
+                .itemId(availability.getItemId())
+                .from(availability.getFrom())
+                .to(availability.getTo())
+                .busy(mapToAvailabilityIntervalDtoCollection(availability.getBusy()))
+                .free(mapToAvailabilityIntervalDtoCollection(availability.getFree()))
+                .build();
+    }
+
+    //region Facilities
+
+    /**
+     * Преобразовать список интервалов календаря доступности в список трансферных объектов.
+     *
+     * @param intervals список интервалов.
+     * @return список трансферных объектов.
+     */
+    private static Collection<AvailabilityIntervalDto> mapToAvailabilityIntervalDtoCollection(Collection<AvailabilityInterval> intervals) {
+        return intervals.stream()
+                .map(i -> AvailabilityIntervalDto.builder().start(i.getStart()).end(i.getEnd()).build())
+                .toList();
     }
+
+    //endregion
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал календаря доступности вещи.
+ */
+@Builder(toBuilder = true)
+@Data
+public final class AvailabilityInterval {
+    /**
+     * Начало интервала.
+     */
+    private final LocalDateTime start;
+
+    /**
+     * Окончание интервала.
+     */
+    private final LocalDateTime end;
+}
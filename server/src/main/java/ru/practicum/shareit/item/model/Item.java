@@ -2,23 +2,39 @@ package ru.practicum.shareit.item.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.config.EntityCacheConfig;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.List;
-
 /**
  * Вещь.
  */
 @AllArgsConstructor
 @Builder(toBuilder = true)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.ITEM_REGION)
+@Cacheable
 @Entity
 @Getter
+@NamedEntityGraph(
+        name = Item.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("owner"),
+                @NamedAttributeNode(value = "request", subgraph = "request")
+        },
+        subgraphs = @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requester"))
+)
 @NoArgsConstructor
 @Setter
 @Table(name = "items", schema = "public")
 @ToString
 public final class Item {
+    /**
+     * Название графа сущности, загружающего вещь вместе с владельцем и запросом вещи одним запросом.
+     */
+    public static final String DETAILS_GRAPH = "Item.details";
+
     /**
      * Идентификатор вещи.
      */
@@ -61,11 +77,19 @@ public final class Item {
     private ItemRequest request;
 
     /**
-     * Комментарии к вещи.
+     * Количество комментариев к вещи.
+     * <p>
+     * Увеличивается в базе данных при добавлении комментария и не перезаписывается при сохранении вещи.
      */
-    @CollectionTable(name = "comments", joinColumns = @JoinColumn(name = "item_id"))
-    @Column(name = "text")
-    @ElementCollection(fetch = FetchType.EAGER)
-    @ToString.Exclude
-    private List<String> comments;
+    @Column(name = "comment_count", updatable = false)
+    private long commentCount;
+
+    /**
+     * Версия вещи.
+     * <p>
+     * Увеличивается при каждом изменении вещи; изменение устаревшей версии отклоняется.
+     */
+    @Column(name = "version", nullable = false)
+    @Version
+    private long version;
 }
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Календарь доступности вещи за период.
+ */
+@Builder(toBuilder = true)
+@Data
+public final class ItemAvailability {
+    /**
+     * Идентификатор вещи.
+     */
+    private final long itemId;
+
+    /**
+     * Начало периода.
+     */
+    private final LocalDateTime from;
+
+    /**
+     * Окончание периода.
+     */
+    private final LocalDateTime to;
+
+    /**
+     * Занятые интервалы: объединенные подтвержденные брони вещи в пределах периода.
+     */
+    private final List<AvailabilityInterval> busy;
+
+    /**
+     * Свободные интервалы: промежутки периода между занятыми интервалами.
+     */
+    private final List<AvailabilityInterval> free;
+
+    /**
+     * Построить календарь доступности вещи по её броням.
+     * <p>
+     * Пересекающиеся и примыкающие друг к другу брони объединяются в один занятый интервал, выходящие за пределы
+     * периода части броней отбрасываются.
+     *
+     * @param itemId   идентификатор вещи.
+     * @param from     начало периода.
+     * @param to       окончание периода.
+     * @param bookings брони вещи, пересекающиеся с периодом, упорядоченные по дате начала бронирования.
+     * @return календарь доступности вещи.
+     */
+    public static ItemAvailability of(long itemId, LocalDateTime from, LocalDateTime to, List<? extends BookingInterval> bookings) {
+        List<AvailabilityInterval> busy = new ArrayList<>();
+
+        LocalDateTime busyStart = null;
+        LocalDateTime busyEnd = null;
+        for (BookingInterval booking : bookings) {
+            LocalDateTime start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+
+            if (busyEnd != null && !start.isAfter(busyEnd)) {
+                if (end.isAfter(busyEnd)) {
+                    busyEnd = end;
+                }
+                continue;
+            }
+
+            if (busyEnd != null) {
+                busy.add(AvailabilityInterval.builder().start(busyStart).end(busyEnd).build());
+            }
+            busyStart = start;
+            busyEnd = end;
+        }
+
+        if (busyEnd != null) {
+            busy.add(AvailabilityInterval.builder().start(busyStart).end(busyEnd).build());
+        }
+
+        List<AvailabilityInterval> free = new ArrayList<>();
+
+        LocalDateTime freeStart = from;
+        for (AvailabilityInterval interval : busy) {
+            if (interval.getStart().isAfter(freeStart)) {
+                free.add(AvailabilityInterval.builder().start(freeStart).end(interval.getStart()).build());
+            }
+            freeStart = interval.getEnd();
+        }
+
+        if (freeStart.isBefore(to)) {
+            free.add(AvailabilityInterval.builder().start(freeStart).end(to).build());
+        }
+
+        return ItemAvailability.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(List.copyOf(busy))
+                .free(List.copyOf(free))
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сводка ближайших бронирований вещи.
+ * <p>
+ * Хранится в отдельной таблице, удаляется при создании брони и пересчитывается при чтении, если отсутствует
+ * или наступил момент {@link #validUntil}, после которого сводка перестает быть актуальной.
+ */
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Entity
+@Getter
+@NoArgsConstructor
+@Setter
+@Table(name = "item_booking_summaries", schema = "public")
+@ToString
+public final class ItemBookingSummary implements ItemBookingDates {
+    /**
+     * Идентификатор вещи.
+     */
+    @Id
+    @Column(name = "item_id")
+    private long itemId;
+
+    /**
+     * Дата окончания текущего бронирования.
+     */
+    @Column(name = "last_booking")
+    private LocalDateTime lastBooking;
+
+    /**
+     * Дата начала следующего бронирования.
+     */
+    @Column(name = "next_booking")
+    private LocalDateTime nextBooking;
+
+    /**
+     * Момент, до которого сводка актуальна; если не указан, сводка актуальна до создания новой брони.
+     */
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    /**
+     * Создать сводку по датам ближайших бронирований вещи.
+     *
+     * @param itemId       идентификатор вещи.
+     * @param bookingDates даты ближайших бронирований вещи; могут отсутствовать.
+     * @return сводка ближайших бронирований вещи.
+     */
+    public static ItemBookingSummary of(long itemId, ItemBookingDates bookingDates) {
+        ItemBookingSummary summary = ItemBookingSummary.builder().itemId(itemId).build();
+
+        if (bookingDates != null) {
+            summary.setLastBooking(bookingDates.getLastBooking());
+            summary.setNextBooking(bookingDates.getNextBooking());
+            summary.updateValidUntil();
+        }
+
+        return summary;
+    }
+
+    /**
+     * Проверить актуальность сводки.
+     *
+     * @param now текущий момент времени.
+     * @return признак актуальности сводки.
+     */
+    public boolean isValidAt(LocalDateTime now) {
+        return validUntil == null || now.isBefore(validUntil);
+    }
+
+    //region Facilities
+
+    /**
+     * Обновить момент, до которого сводка актуальна.
+     * <p>
+     * Сводка меняется, когда заканчивается текущее бронирование или начинается следующее.
+     */
+    private void updateValidUntil() {
+        if (lastBooking == null || (nextBooking != null && nextBooking.isBefore(lastBooking))) {
+            validUntil = nextBooking;
+        } else {
+            validUntil = lastBooking;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.model;
+
+/**
+ * Текст комментария к вещи.
+ */
+public interface ItemCommentText {
+    /**
+     * Получить идентификатор вещи.
+     *
+     * @return идентификатор вещи.
+     */
+    long getItemId();
+
+    /**
+     * Получить содержимое комментария.
+     *
+     * @return содержимое комментария.
+     */
+    String getText();
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.util.Map;
+
+/**
+ * Курсор для постраничного вывода результатов поиска вещей.
+ * <p>
+ * Указывает на последнюю полученную вещь в порядке убывания оценки релевантности и возрастания идентификатора,
+ * в строковом виде представляется как {@code <оценка>,<идентификатор>}.
+ */
+@Builder(toBuilder = true)
+@Data
+public final class ItemSearchCursor implements ItemSearchHit {
+    /**
+     * Оценка релевантности вещи.
+     */
+    private final double score;
+
+    /**
+     * Идентификатор вещи.
+     */
+    private final long id;
+
+    /**
+     * Получить курсор, указывающий на найденную вещь.
+     *
+     * @param hit найденная вещь.
+     * @return курсор.
+     */
+    public static ItemSearchCursor of(ItemSearchHit hit) {
+        return ItemSearchCursor.builder()
+                .score(hit.getScore())
+                .id(hit.getId())
+                .build();
+    }
+
+    /**
+     * Получить курсор, указывающий на позицию в результатах поиска.
+     *
+     * @param position позиция в результатах поиска.
+     * @return курсор.
+     */
+    public static ItemSearchCursor of(KeysetScrollPosition position) {
+        return ItemSearchCursor.builder()
+                .score((Double) position.getKeys().get("score"))
+                .id((Long) position.getKeys().get("id"))
+                .build();
+    }
+
+    /**
+     * Разобрать строковое представление курсора.
+     *
+     * @param token строковое представление курсора.
+     * @return курсор.
+     */
+    public static ItemSearchCursor parse(String token) {
+        int separatorIndex = token.lastIndexOf(',');
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор: %s", token));
+        }
+
+        return ItemSearchCursor.builder()
+                .score(Double.parseDouble(token.substring(0, separatorIndex).trim()))
+                .id(Long.parseLong(token.substring(separatorIndex + 1).trim()))
+                .build();
+    }
+
+    /**
+     * Получить строковое представление курсора.
+     *
+     * @return строковое представление курсора.
+     */
+    public String toToken() {
+        return String.format("%s,%d", score, id);
+    }
+
+    /**
+     * Получить позицию в результатах поиска, соответствующую курсору.
+     *
+     * @return позиция в результатах поиска.
+     */
+    public KeysetScrollPosition toScrollPosition() {
+        return ScrollPosition.forward(Map.of("score", score, "id", id));
+    }
+
+    /**
+     * Проверить, следует ли найденная вещь за курсором.
+     *
+     * @param hit найденная вещь.
+     * @return признак того, что вещь следует за курсором.
+     */
+    public boolean precedes(ItemSearchHit hit) {
+        return hit.getScore() < score || (hit.getScore() == score && hit.getId() > id);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.model;
+
+/**
+ * Найденная вещь с оценкой релевантности.
+ */
+public interface ItemSearchHit {
+    /**
+     * Получить идентификатор вещи.
+     *
+     * @return идентификатор вещи.
+     */
+    long getId();
+
+    /**
+     * Получить оценку релевантности вещи.
+     *
+     * @return оценка релевантности.
+     */
+    double getScore();
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.model;
+
+/**
+ * Режим поиска вещей.
+ */
+public enum ItemSearchMode {
+    /**
+     * Поиск фрагмента текста в названии или описании вещи.
+     */
+    SUBSTRING,
+
+    /**
+     * Поиск по началу слов названия и описания вещи.
+     */
+    TEXT,
+
+    /**
+     * Поиск похожих слов с учетом опечаток.
+     */
+    SIMILAR,
+}
@@ -1,10 +1,47 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.ItemCommentText;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Контракт для хранилища комментариев.
  */
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    /**
+     * Получить страницу комментариев к вещи.
+     *
+     * @param itemId   идентификатор вещи.
+     * @param position позиция, с которой надо получить комментарии.
+     * @param sort     порядок вывода комментариев.
+     * @param limit    количество комментариев, которое надо получить.
+     * @return страница комментариев.
+     */
+    Window<Comment> findByItemId(long itemId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Получить тексты последних комментариев к вещам одним запросом.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     * @param limit   количество последних комментариев к каждой вещи.
+     * @return коллекция текстов комментариев, начиная с самых новых.
+     */
+    @Query("""
+            SELECT r.itemId AS itemId, r.text AS text
+            FROM (SELECT c.item.id AS itemId, c.text AS text, c.created AS created, c.id AS id,
+                         ROW_NUMBER() OVER (PARTITION BY c.item.id ORDER BY c.created DESC, c.id DESC) AS position
+                  FROM Comment c
+                  WHERE c.item.id IN :itemIds) r
+            WHERE r.position <= :limit
+            ORDER BY r.itemId, r.created DESC, r.id DESC
+            """)
+    List<ItemCommentText> findLatestItemCommentTexts(Collection<Long> itemIds, int limit);
 }
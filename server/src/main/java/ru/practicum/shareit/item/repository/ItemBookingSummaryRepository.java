@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Контракт для хранилища сводок ближайших бронирований вещей.
+ */
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long>, ItemBookingSummaryRepositoryCustom {
+    /**
+     * Удалить сводки ближайших бронирований вещей, которые перестали быть актуальными.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     * @param now     текущий момент времени.
+     */
+    @Modifying
+    @Query("""
+           DELETE FROM
+                    ItemBookingSummary s
+           WHERE
+                    s.itemId IN :itemIds
+                AND
+                    s.validUntil <= :now
+           """)
+    void deleteExpired(Collection<Long> itemIds, LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.util.Collection;
+
+/**
+ * Контракт для сохранения сводок ближайших бронирований вещей без чтения и слияния сущностей.
+ */
+public interface ItemBookingSummaryRepositoryCustom {
+    /**
+     * Добавить сводки ближайших бронирований вещей.
+     * <p>
+     * Сводки вещей, для которых сводка уже сохранена, пропускаются.
+     *
+     * @param summaries коллекция сводок.
+     */
+    void insertAllIfAbsent(Collection<ItemBookingSummary> summaries);
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.sql.Types;
+import java.util.Collection;
+
+/**
+ * Сохранение сводок ближайших бронирований вещей пакетом вставок.
+ */
+@RequiredArgsConstructor
+public final class ItemBookingSummaryRepositoryCustomImpl implements ItemBookingSummaryRepositoryCustom {
+    /**
+     * Запрос на добавление сводки, пропускающий вещи, для которых сводка уже сохранена.
+     */
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO item_booking_summaries (item_id, last_booking, next_booking, valid_until)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    /**
+     * Типы параметров запроса на добавление сводки; указываются явно, потому что даты могут отсутствовать.
+     */
+    private static final int[] INSERT_IF_ABSENT_TYPES = {Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    /**
+     * Шаблон для выполнения SQL-запросов.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Добавить сводки ближайших бронирований вещей.
+     * <p>
+     * Сводки вещей, для которых сводка уже сохранена, пропускаются.
+     *
+     * @param summaries коллекция сводок.
+     */
+    @Override
+    public void insertAllIfAbsent(Collection<ItemBookingSummary> summaries) {
+        jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, summaries.stream()
+                .map(s -> new Object[]{s.getItemId(), s.getLastBooking(), s.getNextBooking(), s.getValidUntil()})
+                .toList(), INSERT_IF_ABSENT_TYPES);
+    }
+}
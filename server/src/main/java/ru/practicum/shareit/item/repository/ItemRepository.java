@@ -1,10 +1,22 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchHit;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Контракт для хранилища вещей.
@@ -28,11 +40,192 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByRequestId(long requestId);
 
     /**
-     * Поиск доступных вещей по имени или описанию.
+     * Получить вещи, созданные в ответ на любой из указанных запросов, вместе с владельцами и запросами одним запросом.
      *
-     * @param searchText текст для поиска.
+     * @param requestIds коллекция идентификаторов запросов вещей.
      * @return список вещей.
      */
+    @EntityGraph(Item.DETAILS_GRAPH)
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+
+    /**
+     * Получить вещь, заблокировав её запись до конца транзакции.
+     * <p>
+     * Другие транзакции, блокирующие ту же вещь, ожидают завершения текущей.
+     *
+     * @param itemId идентификатор вещи.
+     * @return вещь.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(long itemId);
+
+    /**
+     * Получить вещи, заблокировав их записи до конца транзакции.
+     * <p>
+     * Записи блокируются в порядке идентификаторов, поэтому транзакции, блокирующие пересекающиеся наборы вещей,
+     * не блокируют друг друга взаимно.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     * @return коллекция вещей.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :itemIds ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
+
+    /**
+     * Увеличить количество комментариев к вещи на единицу.
+     * <p>
+     * Увеличение выполняется в базе данных, поэтому одновременно добавленные комментарии не теряются.
+     * Массовое изменение через JPQL очищает всю область кэша второго уровня с вещами, поэтому запрос нативный,
+     * а его пространство не связано ни с одной сущностью: из кэша удаляется только изменённая вещь,
+     * это делает вызывающий код.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE items SET comment_count = comment_count + 1 WHERE id = :itemId")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "item_comment_counts"))
+    @Transactional
+    void incrementCommentCount(long itemId);
+
+    /**
+     * Полнотекстовый поиск доступных вещей по названию и описанию (только для PostgreSQL).
+     * <p>
+     * Совпадения в названии вещи весят больше совпадений в описании.
+     *
+     * @param tsQuery    поисковый запрос в формате {@code tsquery}.
+     * @param afterScore оценка релевантности вещи, после которой начинается выборка.
+     * @param afterId    идентификатор вещи, после которой начинается выборка.
+     * @param from       количество вещей, которое надо пропустить.
+     * @param size       количество вещей, которое надо получить.
+     * @return список найденных вещей, упорядоченный по убыванию релевантности.
+     */
+    @Query(nativeQuery = true, value = """
+           SELECT
+                    r.id AS id,
+                    r.score AS score
+           FROM
+                    (
+                        SELECT
+                                 i.id,
+                                 CAST(ts_rank(setweight(to_tsvector('simple', i.name), 'A') || setweight(to_tsvector('simple', i.description), 'B'),
+                                              to_tsquery('simple', :tsQuery)) AS DOUBLE PRECISION) AS score
+                        FROM
+                                 items i
+                        WHERE
+                                 i.available = true
+                             AND
+                                 to_tsvector('simple', i.name || ' ' || i.description) @@ to_tsquery('simple', :tsQuery)
+                    ) r
+           WHERE
+                    r.score < :afterScore
+                 OR
+                    (r.score = :afterScore AND r.id > :afterId)
+           ORDER BY
+                    r.score DESC,
+                    r.id
+           OFFSET :from
+           LIMIT :size
+           """)
+    List<ItemSearchHit> searchByTsQuery(String tsQuery, double afterScore, long afterId, int from, int size);
+
+    /**
+     * Поиск доступных вещей по фрагменту названия или описания (только для PostgreSQL).
+     * <p>
+     * Условие ILIKE обслуживается триграммными индексами pg_trgm; совпадения в названии весят больше совпадений в описании.
+     *
+     * @param fragment   фрагмент текста с экранированными символами шаблона LIKE.
+     * @param afterScore оценка релевантности вещи, после которой начинается выборка.
+     * @param afterId    идентификатор вещи, после которой начинается выборка.
+     * @param from       количество вещей, которое надо пропустить.
+     * @param size       количество вещей, которое надо получить.
+     * @return список найденных вещей, упорядоченный по убыванию релевантности.
+     */
+    @Query(nativeQuery = true, value = """
+           SELECT
+                    r.id AS id,
+                    r.score AS score
+           FROM
+                    (
+                        SELECT
+                                 i.id,
+                                 CAST(CASE WHEN i.name ILIKE '%' || :fragment || '%' THEN 2 ELSE 1 END AS DOUBLE PRECISION) AS score
+                        FROM
+                                 items i
+                        WHERE
+                                 i.available = true
+                             AND
+                                 (
+                                     i.name ILIKE '%' || :fragment || '%'
+                                  OR
+                                     i.description ILIKE '%' || :fragment || '%'
+                                 )
+                    ) r
+           WHERE
+                    r.score < :afterScore
+                 OR
+                    (r.score = :afterScore AND r.id > :afterId)
+           ORDER BY
+                    r.score DESC,
+                    r.id
+           OFFSET :from
+           LIMIT :size
+           """)
+    List<ItemSearchHit> searchBySubstring(String fragment, double afterScore, long afterId, int from, int size);
+
+    /**
+     * Поиск доступных вещей с похожими словами в названии или описании (только для PostgreSQL).
+     * <p>
+     * Используется оператор {@code <%} pg_trgm с порогом {@code pg_trgm.word_similarity_threshold}.
+     *
+     * @param text       текст для поиска.
+     * @param afterScore оценка релевантности вещи, после которой начинается выборка.
+     * @param afterId    идентификатор вещи, после которой начинается выборка.
+     * @param from       количество вещей, которое надо пропустить.
+     * @param size       количество вещей, которое надо получить.
+     * @return список найденных вещей, упорядоченный по убыванию похожести.
+     */
+    @Query(nativeQuery = true, value = """
+           SELECT
+                    r.id AS id,
+                    r.score AS score
+           FROM
+                    (
+                        SELECT
+                                 i.id,
+                                 CAST(GREATEST(word_similarity(:text, i.name), word_similarity(:text, i.description)) AS DOUBLE PRECISION) AS score
+                        FROM
+                                 items i
+                        WHERE
+                                 i.available = true
+                             AND
+                                 (
+                                     :text <% i.name
+                                  OR
+                                     :text <% i.description
+                                 )
+                    ) r
+           WHERE
+                    r.score < :afterScore
+                 OR
+                    (r.score = :afterScore AND r.id > :afterId)
+           ORDER BY
+                    r.score DESC,
+                    r.id
+           OFFSET :from
+           LIMIT :size
+           """)
+    List<ItemSearchHit> searchBySimilarity(String text, double afterScore, long afterId, int from, int size);
+
+    /**
+     * Получить поток доступных вещей, в названии или описании которых есть фрагмент текста.
+     * <p>
+     * Вещи читаются из курсора базы данных порциями, поэтому поток надо обрабатывать внутри транзакции и закрывать.
+     *
+     * @param fragment фрагмент текста с экранированными служебными символами шаблона LIKE.
+     * @return поток вещей, упорядоченный по идентификатору.
+     */
     @Query("""
            SELECT
                     i
@@ -42,10 +235,13 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                     i.available = true
                 AND
                     (
-                        i.name ILIKE %?1%
+                        i.name ILIKE %?1% ESCAPE '\\'
                      OR
-                        i.description ILIKE %?1%
+                        i.description ILIKE %?1% ESCAPE '\\'
                     )
+           ORDER BY
+                    i.id
            """)
-    List<Item> findByNameOrDescriptionContainingIgnoreCase(String searchText);
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Item> streamBySubstring(String fragment);
 }
@@ -0,0 +1,303 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Поисковый индекс вещей в памяти приложения.
+ * <p>
+ * Используется с H2, где нет полнотекстового и триграммного поиска PostgreSQL. Хранит два инвертированных индекса:
+ * "слово - вещи" в отсортированной карте для поиска по началу слова и "триграмма - вещи" для поиска фрагментов
+ * и похожих слов.
+ */
+@Component
+@Profile("test")
+@RequiredArgsConstructor
+public final class InMemoryItemSearchIndex implements ItemSearchIndex {
+    /**
+     * Вес совпадения со словом из названия вещи.
+     */
+    private static final int NAME_WEIGHT = 2;
+
+    /**
+     * Вес совпадения со словом из описания вещи.
+     */
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    /**
+     * Минимальная доля общих триграмм для поиска похожих слов (порог word_similarity в pg_trgm).
+     */
+    private static final double SIMILARITY_THRESHOLD = 0.6;
+
+    /**
+     * Хранилище вещей.
+     */
+    private final ItemRepository itemRepository;
+
+    /**
+     * Инвертированный индекс: слово - идентификаторы вещей с весом слова в вещи.
+     */
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Инвертированный индекс: триграмма - идентификаторы вещей.
+     */
+    private final Map<String, Set<Long>> trigramPostings = new ConcurrentHashMap<>();
+
+    /**
+     * Прямой индекс: идентификатор вещи - проиндексированные данные вещи.
+     */
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Построить индекс по всем вещам из хранилища.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        itemRepository.findAll().forEach(this::index);
+    }
+
+    /**
+     * Добавить вещь в индекс или обновить её в индексе.
+     *
+     * @param item вещь.
+     */
+    @Override
+    public synchronized void index(Item item) {
+        Document oldDocument = documents.remove(item.getId());
+        if (oldDocument != null) {
+            oldDocument.getTokens().keySet().forEach(token -> postings.computeIfPresent(token, (t, ids) -> {
+                ids.remove(item.getId());
+                return ids.isEmpty() ? null : ids;
+            }));
+            oldDocument.getTrigrams().forEach(trigram -> trigramPostings.computeIfPresent(trigram, (t, ids) -> {
+                ids.remove(item.getId());
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+
+        Map<String, Integer> tokens = new HashMap<>();
+        SearchTokenizer.tokenize(item.getDescription()).forEach(token -> tokens.merge(token, DESCRIPTION_WEIGHT, Math::max));
+        SearchTokenizer.tokenize(item.getName()).forEach(token -> tokens.merge(token, NAME_WEIGHT, Math::max));
+
+        Set<String> trigrams = new HashSet<>();
+        tokens.keySet().forEach(token -> trigrams.addAll(SearchTokenizer.paddedTrigrams(token)));
+
+        tokens.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new ConcurrentHashMap<>()).put(item.getId(), weight));
+        trigrams.forEach(trigram -> trigramPostings.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(item.getId()));
+
+        documents.put(item.getId(), new Document(item.getName().toLowerCase(Locale.ROOT), item.getDescription().toLowerCase(Locale.ROOT), tokens, trigrams));
+    }
+
+    /**
+     * Поиск доступных вещей.
+     *
+     * @param text  текст для поиска.
+     * @param mode  режим поиска.
+     * @param after курсор, после которого надо получить вещи; может быть не указан.
+     * @param from  количество вещей, которое надо пропустить после курсора.
+     * @param size  количество вещей, которое надо получить.
+     * @return список найденных вещей с оценками релевантности.
+     */
+    @Override
+    public List<ItemSearchHit> search(String text, ItemSearchMode mode, ItemSearchCursor after, int from, int size) {
+        Map<Long, Double> scores = switch (mode) {
+            case SUBSTRING -> scoreSubstring(text.toLowerCase(Locale.ROOT));
+            case TEXT -> scoreText(SearchTokenizer.tokenize(text));
+            case SIMILAR -> scoreSimilar(SearchTokenizer.tokenize(text));
+        };
+
+        return scores.entrySet().stream()
+                .<ItemSearchHit>map(e -> ItemSearchCursor.builder().id(e.getKey()).score(e.getValue()).build())
+                .filter(hit -> after == null || after.precedes(hit))
+                .sorted(Comparator.comparingDouble(ItemSearchHit::getScore).reversed().thenComparingLong(ItemSearchHit::getId))
+                .skip(from)
+                .limit(size)
+                .toList();
+    }
+
+    //region Facilities
+
+    /**
+     * Получить оценки вещей, в названии или описании которых есть фрагмент текста.
+     * <p>
+     * Кандидаты отбираются пересечением списков вещей по триграммам слов запроса, после чего вхождение фрагмента
+     * проверяется по тексту вещи. Если в запросе нет слов длиннее двух символов, проверяются все вещи.
+     *
+     * @param fragment фрагмент текста в нижнем регистре.
+     * @return оценки вещей, сгруппированные по идентификатору вещи.
+     */
+    private Map<Long, Double> scoreSubstring(String fragment) {
+        Set<String> trigrams = new HashSet<>();
+        SearchTokenizer.tokenize(fragment).forEach(token -> trigrams.addAll(SearchTokenizer.trigrams(token)));
+
+        Collection<Long> candidates = trigrams.isEmpty() ? documents.keySet() : intersect(trigrams);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (long id : candidates) {
+            Document document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+
+            if (document.getName().contains(fragment)) {
+                scores.put(id, (double) NAME_WEIGHT);
+            } else if (document.getDescription().contains(fragment)) {
+                scores.put(id, (double) DESCRIPTION_WEIGHT);
+            }
+        }
+
+        return scores;
+    }
+
+    /**
+     * Получить оценки вещей, содержащих слова, начинающиеся со всех слов запроса.
+     *
+     * @param queryTokens слова запроса.
+     * @return оценки вещей, сгруппированные по идентификатору вещи.
+     */
+    private Map<Long, Double> scoreText(List<String> queryTokens) {
+        Map<Long, Double> scores = null;
+        for (String queryToken : queryTokens) {
+            Map<Long, Double> tokenScores = scorePrefix(queryToken);
+
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // Вещь должна содержать все слова запроса.
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((id, score) -> score + tokenScores.get(id));
+            }
+
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        return scores == null ? Map.of() : scores;
+    }
+
+    /**
+     * Получить оценки вещей, содержащих слова, начинающиеся со слова запроса.
+     * <p>
+     * Точное совпадение слова оценивается выше совпадения по началу слова.
+     *
+     * @param queryToken слово запроса.
+     * @return оценки вещей, сгруппированные по идентификатору вещи.
+     */
+    private Map<Long, Double> scorePrefix(String queryToken) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        NavigableMap<String, Map<Long, Integer>> matches = postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false);
+        matches.forEach((token, ids) -> {
+            int exactBonus = token.equals(queryToken) ? 1 : 0;
+            ids.forEach((id, weight) -> scores.merge(id, (double) (weight * 2 + exactBonus), Math::max));
+        });
+
+        return scores;
+    }
+
+    /**
+     * Получить оценки вещей, слова которых похожи на слова запроса.
+     * <p>
+     * Оценка - средняя по словам запроса доля их триграмм, встречающихся у вещи.
+     *
+     * @param queryTokens слова запроса.
+     * @return оценки вещей не ниже порога похожести, сгруппированные по идентификатору вещи.
+     */
+    private Map<Long, Double> scoreSimilar(List<String> queryTokens) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (String queryToken : queryTokens) {
+            Set<String> trigrams = SearchTokenizer.paddedTrigrams(queryToken);
+
+            Map<Long, Integer> matches = new HashMap<>();
+            trigrams.forEach(trigram -> trigramPostings.getOrDefault(trigram, Set.of()).forEach(id -> matches.merge(id, 1, Integer::sum)));
+
+            matches.forEach((id, count) -> scores.merge(id, (double) count / trigrams.size() / queryTokens.size(), Double::sum));
+        }
+
+        scores.values().removeIf(score -> score < SIMILARITY_THRESHOLD);
+        return scores;
+    }
+
+    /**
+     * Получить идентификаторы вещей, содержащих все триграммы.
+     *
+     * @param trigrams триграммы.
+     * @return идентификаторы вещей.
+     */
+    private Collection<Long> intersect(Set<String> trigrams) {
+        Set<Long> result = null;
+        for (String trigram : trigrams) {
+            Set<Long> ids = trigramPostings.getOrDefault(trigram, Set.of());
+
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Проиндексированные данные вещи.
+     */
+    @AllArgsConstructor
+    @Getter
+    private static final class Document {
+        /**
+         * Название вещи в нижнем регистре.
+         */
+        private final String name;
+
+        /**
+         * Описание вещи в нижнем регистре.
+         */
+        private final String description;
+
+        /**
+         * Слова вещи с весом.
+         */
+        private final Map<String, Integer> tokens;
+
+        /**
+         * Триграммы слов вещи.
+         */
+        private final Set<String> trigrams;
+    }
+
+    //endregion
+}
@@ -0,0 +1,425 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Кэш результатов поиска вещей.
+ * <p>
+ * Хранит найденные идентификаторы вещей по нормализованному запросу. Записи вытесняются по размеру кэша и времени
+ * жизни, а при изменении вещи удаляются все страницы тех запросов, на результат которых изменение могло повлиять.
+ * Такие запросы находятся по индексам, а не перебором кэша, поэтому стоимость изменения вещи не растет с размером
+ * кэша. Статистика попаданий и промахов публикуется в метриках cache.* с тегом cache=itemSearch.
+ */
+@Component
+public final class ItemSearchCache {
+    /**
+     * Название кэша в метриках.
+     */
+    private static final String CACHE_NAME = "itemSearch";
+
+    /**
+     * Длина фрагмента, по которому индексируются запросы поиска по подстроке.
+     */
+    private static final int TRIGRAM_LENGTH = 3;
+
+    /**
+     * Кэш: запрос - найденные вещи с оценками релевантности.
+     */
+    private final Cache<Key, List<ItemSearchHit>> cache;
+
+    /**
+     * Поколение кэша; увеличивается при каждом удалении результатов, на которые повлияло изменение вещи.
+     */
+    private long generation;
+
+    /**
+     * Индекс: идентификатор вещи - ключи страниц, в результат которых входит вещь.
+     */
+    private final Map<Long, Set<Key>> keysByItemId = new HashMap<>();
+
+    /**
+     * Индекс: запрос - ключи его страниц, сохраненных в кэше.
+     */
+    private final Map<Query, Set<Key>> keysByQuery = new HashMap<>();
+
+    /**
+     * Индекс запросов по словам: первое слово запроса - запросы.
+     */
+    private final NavigableMap<String, Set<Query>> textQueriesByToken = new TreeMap<>();
+
+    /**
+     * Индекс запросов по подстроке: первые три символа самого длинного слова запроса - запросы.
+     */
+    private final Map<String, Set<Query>> substringQueriesByTrigram = new HashMap<>();
+
+    /**
+     * Запросы, которые не удается проиндексировать и которые проверяются при каждом изменении вещи.
+     */
+    private final Set<Query> unindexedQueries = new HashSet<>();
+
+    /**
+     * Конструктор.
+     *
+     * @param maximumSize      максимальное количество запросов в кэше.
+     * @param expireAfterWrite время жизни записи кэша.
+     * @param meterRegistry    реестр метрик.
+     */
+    public ItemSearchCache(@Value("${shareit.item-search.cache.maximum-size}") long maximumSize,
+                           @Value("${shareit.item-search.cache.expire-after-write}") Duration expireAfterWrite,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .<Key, List<ItemSearchHit>>removalListener((key, hits, cause) -> {
+                    if (cause.wasEvicted() && key != null && hits != null) {
+                        unregisterEvicted(key, hits);
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Получить результат поиска из кэша или выполнить поиск и сохранить его результат.
+     * <p>
+     * Поиск выполняется по нормализованному тексту, чтобы результат соответствовал ключу, под которым он сохраняется.
+     * Результат не сохраняется, если во время поиска из кэша удалялись результаты из-за изменения вещи: поиск мог
+     * прочитать данные до фиксации этого изменения.
+     *
+     * @param text   текст для поиска.
+     * @param mode   режим поиска.
+     * @param after  курсор, после которого надо получить вещи; может быть не указан.
+     * @param from   количество вещей, которое надо пропустить после курсора.
+     * @param size   количество вещей, которое надо получить.
+     * @param search поиск вещей по нормализованному тексту.
+     * @return список найденных вещей с оценками релевантности.
+     */
+    public List<ItemSearchHit> get(String text, ItemSearchMode mode, ItemSearchCursor after, int from, int size, Function<String, List<ItemSearchHit>> search) {
+        Key key = new Key(new Query(normalize(text, mode), mode), after, from, size);
+
+        List<ItemSearchHit> hits = cache.getIfPresent(key);
+        if (hits != null) {
+            return hits;
+        }
+
+        long searchGeneration = getGeneration();
+        hits = List.copyOf(search.apply(key.query().text()));
+        put(key, hits, searchGeneration);
+
+        return hits;
+    }
+
+    /**
+     * Удалить из кэша результаты, на которые могло повлиять изменение вещи.
+     * <p>
+     * Затронутыми считаются запросы, в результате которых вещь уже есть (она могла пропасть из результата или сменить
+     * позицию), и запросы, которым вещь соответствует после изменения (она могла появиться в результате). Удаляются
+     * все страницы таких запросов, так как у остальных страниц сдвигаются позиции вещей.
+     * <p>
+     * Если вызов выполняется в транзакции, результаты удаляются после её фиксации, чтобы поиск, выполненный
+     * до фиксации, не оставил в кэше устаревший результат.
+     *
+     * @param item изменённая вещь.
+     */
+    public void invalidate(Item item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(item);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(item);
+            }
+        });
+    }
+
+    //region Facilities
+
+    /**
+     * Получить текущее поколение кэша.
+     *
+     * @return поколение кэша.
+     */
+    private synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Сохранить результат поиска, если с начала поиска из кэша не удалялись результаты.
+     *
+     * @param key              ключ кэша.
+     * @param hits             найденные вещи.
+     * @param searchGeneration поколение кэша на момент начала поиска.
+     */
+    private synchronized void put(Key key, List<ItemSearchHit> hits, long searchGeneration) {
+        if (generation != searchGeneration) {
+            return;
+        }
+
+        List<ItemSearchHit> replacedHits = cache.asMap().put(key, hits);
+        if (replacedHits != null) {
+            unregister(key, replacedHits);
+        }
+
+        register(key, hits);
+    }
+
+    /**
+     * Удалить из кэша все страницы запросов, на результат которых могло повлиять изменение вещи.
+     *
+     * @param item изменённая вещь.
+     */
+    private synchronized void evict(Item item) {
+        generation++;
+
+        Set<Query> affectedQueries = new HashSet<>();
+        keysByItemId.getOrDefault(item.getId(), Set.of()).forEach(key -> affectedQueries.add(key.query()));
+        findCandidateQueries(item).stream()
+                .filter(query -> query.mayMatch(item))
+                .forEach(affectedQueries::add);
+
+        for (Query query : affectedQueries) {
+            for (Key key : List.copyOf(keysByQuery.getOrDefault(query, Set.of()))) {
+                List<ItemSearchHit> hits = cache.asMap().remove(key);
+                if (hits != null) {
+                    unregister(key, hits);
+                }
+            }
+        }
+    }
+
+    /**
+     * Найти запросы, которым вещь может соответствовать, по индексам запросов.
+     * <p>
+     * Запрос по словам может совпасть с вещью, только если его первое слово является началом слова вещи или
+     * начинается со слова вещи. Запрос по подстроке может совпасть, только если его самое длинное слово содержится
+     * в слове вещи, а значит, и первые три символа этого слова образуют триграмму слова вещи.
+     *
+     * @param item вещь.
+     * @return множество запросов, требующих проверки.
+     */
+    private Set<Query> findCandidateQueries(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return Set.of();
+        }
+
+        Set<Query> candidates = new HashSet<>(unindexedQueries);
+
+        for (String token : SearchTokenizer.tokenize(item.getName() + " " + item.getDescription())) {
+            for (int length = 1; length <= token.length(); length++) {
+                candidates.addAll(textQueriesByToken.getOrDefault(token.substring(0, length), Set.of()));
+            }
+            textQueriesByToken.subMap(token, true, token + Character.MAX_VALUE, false).values().forEach(candidates::addAll);
+
+            SearchTokenizer.trigrams(token).forEach(trigram -> candidates.addAll(substringQueriesByTrigram.getOrDefault(trigram, Set.of())));
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Добавить страницу результата поиска в индексы.
+     *
+     * @param key  ключ кэша.
+     * @param hits найденные вещи.
+     */
+    private void register(Key key, List<ItemSearchHit> hits) {
+        keysByQuery.computeIfAbsent(key.query(), query -> {
+            indexQuery(query);
+            return new HashSet<>();
+        }).add(key);
+
+        hits.forEach(hit -> keysByItemId.computeIfAbsent(hit.getId(), id -> new HashSet<>()).add(key));
+    }
+
+    /**
+     * Убрать страницу результата поиска из индексов.
+     *
+     * @param key  ключ кэша.
+     * @param hits найденные вещи.
+     */
+    private void unregister(Key key, List<ItemSearchHit> hits) {
+        hits.forEach(hit -> removeFromIndex(keysByItemId, hit.getId(), key));
+
+        Set<Key> keys = keysByQuery.get(key.query());
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByQuery.remove(key.query());
+            unindexQuery(key.query());
+        }
+    }
+
+    /**
+     * Убрать из индексов страницу, вытесненную из кэша по размеру или времени жизни.
+     * <p>
+     * Уведомление о вытеснении приходит асинхронно, поэтому страница, которую за это время снова сохранили в кэше,
+     * остается в индексах.
+     *
+     * @param key  ключ кэша.
+     * @param hits найденные вещи.
+     */
+    private synchronized void unregisterEvicted(Key key, List<ItemSearchHit> hits) {
+        if (!cache.asMap().containsKey(key)) {
+            unregister(key, hits);
+        }
+    }
+
+    /**
+     * Добавить запрос в индекс запросов.
+     *
+     * @param query запрос.
+     */
+    private void indexQuery(Query query) {
+        String indexToken = query.indexToken();
+        if (indexToken == null) {
+            unindexedQueries.add(query);
+        } else if (query.mode() == ItemSearchMode.TEXT) {
+            textQueriesByToken.computeIfAbsent(indexToken, token -> new HashSet<>()).add(query);
+        } else {
+            substringQueriesByTrigram.computeIfAbsent(indexToken, trigram -> new HashSet<>()).add(query);
+        }
+    }
+
+    /**
+     * Убрать запрос из индекса запросов.
+     *
+     * @param query запрос.
+     */
+    private void unindexQuery(Query query) {
+        String indexToken = query.indexToken();
+        if (indexToken == null) {
+            unindexedQueries.remove(query);
+        } else if (query.mode() == ItemSearchMode.TEXT) {
+            removeFromIndex(textQueriesByToken, indexToken, query);
+        } else {
+            removeFromIndex(substringQueriesByTrigram, indexToken, query);
+        }
+    }
+
+    /**
+     * Убрать значение из индекса и удалить опустевшую запись индекса.
+     *
+     * @param index    индекс.
+     * @param indexKey ключ индекса.
+     * @param value    значение.
+     * @param <K>      тип ключа индекса.
+     * @param <V>      тип значения.
+     */
+    private static <K, V> void removeFromIndex(Map<K, Set<V>> index, K indexKey, V value) {
+        index.computeIfPresent(indexKey, (k, values) -> {
+            values.remove(value);
+            return values.isEmpty() ? null : values;
+        });
+    }
+
+    /**
+     * Нормализовать текст запроса, чтобы одинаковые по смыслу запросы попадали в одну запись кэша.
+     *
+     * @param text текст для поиска.
+     * @param mode режим поиска.
+     * @return нормализованный текст.
+     */
+    private static String normalize(String text, ItemSearchMode mode) {
+        if (mode == ItemSearchMode.SUBSTRING) {
+            return text.strip().toLowerCase(Locale.ROOT);
+        }
+
+        return String.join(" ", SearchTokenizer.tokenize(text));
+    }
+
+    /**
+     * Ключ кэша результатов поиска.
+     *
+     * @param query нормализованный запрос.
+     * @param after курсор, после которого надо получить вещи; может быть не указан.
+     * @param from  количество вещей, которое надо пропустить после курсора.
+     * @param size  количество вещей, которое надо получить.
+     */
+    private record Key(Query query, ItemSearchCursor after, int from, int size) {
+    }
+
+    /**
+     * Нормализованный запрос, общий для всех страниц результата.
+     *
+     * @param text нормализованный текст для поиска.
+     * @param mode режим поиска.
+     */
+    private record Query(String text, ItemSearchMode mode) {
+        /**
+         * Получить значение, по которому запрос хранится в индексе запросов.
+         * <p>
+         * Для запроса по словам это первое слово, для запроса по подстроке - первые три символа самого длинного слова.
+         * Запросы похожих вещей и запросы, в которых нет подходящего слова, не индексируются.
+         *
+         * @return значение для индекса; null, если запрос не индексируется.
+         */
+        String indexToken() {
+            List<String> tokens = SearchTokenizer.tokenize(text);
+
+            return switch (mode) {
+                case TEXT -> tokens.isEmpty() ? null : tokens.getFirst();
+                case SUBSTRING -> tokens.stream()
+                        .max(Comparator.comparingInt(String::length))
+                        .filter(token -> token.length() >= TRIGRAM_LENGTH)
+                        .map(token -> token.substring(0, TRIGRAM_LENGTH))
+                        .orElse(null);
+                case SIMILAR -> null;
+            };
+        }
+
+        /**
+         * Проверить, может ли вещь соответствовать запросу.
+         * <p>
+         * Проверка консервативна: похожесть слов и морфология полнотекстового поиска не воспроизводятся, поэтому
+         * запросы похожих вещей считаются затронутыми всегда, а запросы по словам - при совпадении начала слова
+         * запроса и слова вещи.
+         *
+         * @param item вещь.
+         * @return признак возможного соответствия.
+         */
+        boolean mayMatch(Item item) {
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                return false;
+            }
+
+            return switch (mode) {
+                case SUBSTRING -> item.getName().toLowerCase(Locale.ROOT).contains(text)
+                        || item.getDescription().toLowerCase(Locale.ROOT).contains(text);
+                case TEXT -> {
+                    List<String> itemTokens = SearchTokenizer.tokenize(item.getName() + " " + item.getDescription());
+                    yield SearchTokenizer.tokenize(text).stream().allMatch(queryToken -> itemTokens.stream()
+                            .anyMatch(itemToken -> itemToken.startsWith(queryToken) || queryToken.startsWith(itemToken)));
+                }
+                case SIMILAR -> true;
+            };
+        }
+    }
+
+    //endregion
+}
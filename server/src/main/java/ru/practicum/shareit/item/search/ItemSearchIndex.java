@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+
+import java.util.List;
+
+/**
+ * Контракт поискового индекса вещей.
+ */
+public interface ItemSearchIndex {
+    /**
+     * Добавить вещь в индекс или обновить её в индексе.
+     *
+     * @param item вещь.
+     */
+    void index(Item item);
+
+    /**
+     * Поиск доступных вещей.
+     * <p>
+     * Вещи упорядочиваются по убыванию оценки релевантности и возрастанию идентификатора;
+     * смысл совпадения определяется режимом поиска.
+     *
+     * @param text  текст для поиска.
+     * @param mode  режим поиска.
+     * @param after курсор, после которого надо получить вещи; может быть не указан.
+     * @param from  количество вещей, которое надо пропустить после курсора.
+     * @param size  количество вещей, которое надо получить.
+     * @return список найденных вещей с оценками релевантности.
+     */
+    List<ItemSearchHit> search(String text, ItemSearchMode mode, ItemSearchCursor after, int from, int size);
+}
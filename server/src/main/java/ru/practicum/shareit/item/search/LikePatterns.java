@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Построение шаблонов LIKE по тексту, введенному пользователем.
+ */
+public final class LikePatterns {
+    /**
+     * Экранировать служебные символы шаблона LIKE, чтобы текст искался буквально.
+     * <p>
+     * Используется символ экранирования по умолчанию - обратная косая черта (PostgreSQL, H2).
+     *
+     * @param text текст.
+     * @return экранированный текст.
+     */
+    public static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
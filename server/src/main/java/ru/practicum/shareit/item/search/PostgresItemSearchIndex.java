@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Поисковый индекс вещей на основе полнотекстового и триграммного поиска PostgreSQL.
+ * <p>
+ * Индексы по выражению {@code to_tsvector} и триграммные индексы pg_trgm создаются миграцией {@code db/migration/postgresql/V9}
+ * и поддерживаются базой данных, поэтому отдельная синхронизация при изменении вещей не требуется.
+ */
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public final class PostgresItemSearchIndex implements ItemSearchIndex {
+    /**
+     * Хранилище вещей.
+     */
+    private final ItemRepository itemRepository;
+
+    /**
+     * Добавить вещь в индекс или обновить её в индексе.
+     *
+     * @param item вещь.
+     */
+    @Override
+    public void index(Item item) {
+    }
+
+    /**
+     * Поиск доступных вещей.
+     *
+     * @param text  текст для поиска.
+     * @param mode  режим поиска.
+     * @param after курсор, после которого надо получить вещи; может быть не указан.
+     * @param from  количество вещей, которое надо пропустить после курсора.
+     * @param size  количество вещей, которое надо получить.
+     * @return список найденных вещей с оценками релевантности.
+     */
+    @Override
+    public List<ItemSearchHit> search(String text, ItemSearchMode mode, ItemSearchCursor after, int from, int size) {
+        // Без курсора выборка начинается с вещи, оценка которой выше любой возможной.
+        double afterScore = after == null ? Double.MAX_VALUE : after.getScore();
+        long afterId = after == null ? 0 : after.getId();
+
+        return switch (mode) {
+            case SUBSTRING -> itemRepository.searchBySubstring(LikePatterns.escape(text), afterScore, afterId, from, size);
+            case TEXT -> searchByText(text, afterScore, afterId, from, size);
+            case SIMILAR -> itemRepository.searchBySimilarity(text, afterScore, afterId, from, size);
+        };
+    }
+
+    //region Facilities
+
+    /**
+     * Поиск доступных вещей по началу слов.
+     *
+     * @param text       текст для поиска.
+     * @param afterScore оценка релевантности вещи, после которой начинается выборка.
+     * @param afterId    идентификатор вещи, после которой начинается выборка.
+     * @param from       количество вещей, которое надо пропустить.
+     * @param size       количество вещей, которое надо получить.
+     * @return список найденных вещей с оценками релевантности.
+     */
+    private List<ItemSearchHit> searchByText(String text, double afterScore, long afterId, int from, int size) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        // Слова состоят только из букв и цифр, поэтому не могут содержать операторы tsquery.
+        String query = tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & "));
+
+        return itemRepository.searchByTsQuery(query, afterScore, afterId, from, size);
+    }
+
+    //endregion
+}
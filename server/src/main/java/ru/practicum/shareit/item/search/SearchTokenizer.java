@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Разбиение текста на слова для поискового индекса.
+ */
+public final class SearchTokenizer {
+    /**
+     * Разделитель слов: всё, кроме букв и цифр.
+     */
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Разбить текст на слова в нижнем регистре.
+     *
+     * @param text текст.
+     * @return список слов без повторов.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Получить триграммы слова, дополненного пробелами в начале и конце (как в pg_trgm).
+     *
+     * @param token слово.
+     * @return множество триграмм.
+     */
+    public static Set<String> paddedTrigrams(String token) {
+        return trigrams("  " + token + " ");
+    }
+
+    /**
+     * Получить триграммы слова без дополнения пробелами.
+     * <p>
+     * Такие триграммы есть у любого слова, содержащего данное слово как фрагмент.
+     *
+     * @param token слово.
+     * @return множество триграмм; пустое, если слово короче трех символов.
+     */
+    public static Set<String> trigrams(String token) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            trigrams.add(token.substring(i, i + 3));
+        }
+
+        return trigrams;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Контракт сервиса для работы со сводками ближайших бронирований вещей.
+ */
+public interface ItemBookingSummaryService {
+    /**
+     * Получить актуальные сводки ближайших бронирований вещей.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     * @return сводки ближайших бронирований, сгруппированные по идентификатору вещи.
+     */
+    Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds);
+
+    /**
+     * Удалить сводки ближайших бронирований вещей, чтобы они были пересчитаны при следующем чтении.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     */
+    void invalidate(Collection<Long> itemIds);
+}
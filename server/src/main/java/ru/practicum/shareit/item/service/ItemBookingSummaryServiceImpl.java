@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис для работы со сводками ближайших бронирований вещей.
+ */
+@RequiredArgsConstructor
+@Service
+public final class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    /**
+     * Хранилище броней.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Хранилище сводок ближайших бронирований вещей.
+     */
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Получить актуальные сводки ближайших бронирований вещей.
+     * <p>
+     * Отсутствующие и устаревшие сводки пересчитываются одним агрегирующим запросом к броням и сохраняются.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     * @return сводки ближайших бронирований, сгруппированные по идентификатору вещи.
+     */
+    @Override
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        List<Long> expiredItemIds = new ArrayList<>();
+        for (ItemBookingSummary summary : itemBookingSummaryRepository.findAllById(itemIds)) {
+            if (summary.isValidAt(now)) {
+                summaries.put(summary.getItemId(), summary);
+            } else {
+                expiredItemIds.add(summary.getItemId());
+            }
+        }
+
+        List<Long> staleItemIds = itemIds.stream().filter(id -> !summaries.containsKey(id)).toList();
+        if (!staleItemIds.isEmpty()) {
+            Map<Long, ItemBookingDates> bookingDates = bookingRepository.findItemBookingDates(staleItemIds, now).stream()
+                    .collect(Collectors.toMap(ItemBookingDates::getItemId, Function.identity()));
+
+            Collection<ItemBookingSummary> refreshedSummaries = new ArrayList<>();
+            for (long itemId : staleItemIds) {
+                refreshedSummaries.add(ItemBookingSummary.of(itemId, bookingDates.get(itemId)));
+            }
+
+            saveSummaries(refreshedSummaries, expiredItemIds, now);
+            refreshedSummaries.forEach(s -> summaries.put(s.getItemId(), s));
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Удалить сводки ближайших бронирований вещей, чтобы они были пересчитаны при следующем чтении.
+     * <p>
+     * Сводки удаляются в текущей транзакции и ещё раз после её фиксации: чтение, которое пересчитывало сводку
+     * по броням до фиксации, могло сохранить её уже после удаления.
+     *
+     * @param itemIds коллекция идентификаторов вещей.
+     */
+    @Override
+    public void invalidate(Collection<Long> itemIds) {
+        itemBookingSummaryRepository.deleteAllByIdInBatch(itemIds);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Зафиксированная транзакция ещё связана с потоком, поэтому удаление выполняется в новой.
+                TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+                transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                transactionTemplate.executeWithoutResult(status -> itemBookingSummaryRepository.deleteAllByIdInBatch(itemIds));
+            }
+        });
+    }
+
+    //region Facilities
+
+    /**
+     * Сохранить пересчитанные сводки ближайших бронирований вещей.
+     * <p>
+     * Устаревшие сводки удаляются, а пересчитанные добавляются пакетом вставок без чтения сохраненных сводок.
+     * Если сводку вещи одновременно сохранил другой запрос, она не перезаписывается: она построена по тем же броням.
+     *
+     * @param summaries      коллекция сводок.
+     * @param expiredItemIds идентификаторы вещей, сохраненные сводки которых перестали быть актуальными.
+     * @param now            текущий момент времени.
+     */
+    private void saveSummaries(Collection<ItemBookingSummary> summaries, Collection<Long> expiredItemIds, LocalDateTime now) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!expiredItemIds.isEmpty()) {
+                itemBookingSummaryRepository.deleteExpired(expiredItemIds, now);
+            }
+
+            itemBookingSummaryRepository.insertAllIfAbsent(summaries);
+        });
+    }
+
+    //endregion
+}
@@ -1,10 +1,17 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Контракт сервиса для работы с вещами.
@@ -46,10 +53,24 @@ public interface ItemService {
     /**
      * Поиск вещей.
      *
-     * @param text текст для поиска.
+     * @param text  текст для поиска.
+     * @param mode  режим поиска.
+     * @param from  количество вещей, которое надо пропустить.
+     * @param size  количество вещей, которое надо получить.
+     * @param after курсор, после которого надо получить вещи; если указан, параметр from не учитывается.
      * @return список вещей.
      */
-    Collection<Item> search(String text);
+    Window<Item> search(String text, ItemSearchMode mode, int from, int size, ItemSearchCursor after);
+
+    /**
+     * Обойти все доступные вещи, в названии или описании которых есть фрагмент текста.
+     * <p>
+     * Вещи читаются из курсора базы данных и не накапливаются в памяти.
+     *
+     * @param text   текст для поиска.
+     * @param action действие над каждой найденной вещью.
+     */
+    void streamSearch(String text, Consumer<Item> action);
 
     /**
      * Обновить вещь.
@@ -66,4 +87,25 @@ public interface ItemService {
      * @return комментарий.
      */
     Comment addCommentToItem(Comment comment);
+
+    /**
+     * Получить комментарии к вещи, начиная с самых новых.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   количество комментариев, которое надо пропустить.
+     * @param size   количество комментариев, которое надо получить.
+     * @param after  курсор, после которого надо получить комментарии; если указан, параметр from не учитывается.
+     * @return страница комментариев.
+     */
+    Window<Comment> getItemComments(long itemId, int from, int size, TimestampCursor after);
+
+    /**
+     * Получить календарь доступности вещи за период.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @return календарь доступности вещи.
+     */
+    ItemAvailability getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,23 +1,53 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.CommentException;
+import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.model.ItemCommentText;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.model.ItemSearchMode;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.LikePatterns;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.index.UserIdIndex;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Сервис для работы с вещами.
@@ -25,6 +55,21 @@ import java.util.Collections;
 @RequiredArgsConstructor
 @Service
 public final class ItemServiceImpl implements ItemService {
+    /**
+     * Порядок вывода комментариев: по убыванию даты создания и идентификатора.
+     */
+    private static final Sort COMMENT_ORDER = Sort.by(Sort.Direction.DESC, "created", "id");
+
+    /**
+     * Количество последних комментариев, выводимых вместе с вещью.
+     */
+    private static final int LATEST_COMMENTS_COUNT = 10;
+
+    /**
+     * Количество попыток обновления вещи, одновременно изменяемой другими запросами.
+     */
+    private static final int UPDATE_ATTEMPTS = 3;
+
     /**
      * Хранилище броней.
      */
@@ -35,15 +80,50 @@ public final class ItemServiceImpl implements ItemService {
      */
     private final CommentRepository commentRepository;
 
+    /**
+     * Менеджер сущностей.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Кэш календарей доступности вещей.
+     */
+    private final ItemAvailabilityCache itemAvailabilityCache;
+
+    /**
+     * Сервис для работы со сводками ближайших бронирований вещей.
+     */
+    private final ItemBookingSummaryService itemBookingSummaryService;
+
     /**
      * Хранилище вещей.
      */
     private final ItemRepository itemRepository;
 
     /**
-     * Хранилище пользователей.
+     * Сервис для работы с запросами вещей.
+     */
+    private final ItemRequestService itemRequestService;
+
+    /**
+     * Кэш результатов поиска вещей.
+     */
+    private final ItemSearchCache itemSearchCache;
+
+    /**
+     * Поисковый индекс вещей.
+     */
+    private final ItemSearchIndex itemSearchIndex;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Индекс идентификаторов существующих пользователей.
      */
-    private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
 
     /**
      * Создать вещь.
@@ -54,7 +134,13 @@ public final class ItemServiceImpl implements ItemService {
     @Override
     public Item createItem(Item item) {
         throwIfUserNotFound(item.getOwner().getId());
-        return itemRepository.save(item);
+
+        Item createdItem = itemRepository.save(item);
+        itemSearchIndex.index(createdItem);
+        itemSearchCache.invalidate(createdItem);
+        itemRequestService.suggestItem(createdItem);
+
+        return createdItem;
     }
 
     /**
@@ -68,9 +154,10 @@ public final class ItemServiceImpl implements ItemService {
         throwIfUserNotFound(userId);
 
         Collection<Item> items = itemRepository.findByOwnerId(userId);
-        Collection<Booking> bookings = bookingRepository.findByItemIn(items);
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, ItemBookingSummary> bookingSummaries = itemBookingSummaryService.getSummaries(itemIds);
 
-        return ItemMapper.mapToExtendedItemDtoCollection(items, bookings);
+        return ItemMapper.mapToExtendedItemDtoCollection(items, bookingSummaries, getCommentTexts(itemIds));
     }
 
     /**
@@ -83,9 +170,9 @@ public final class ItemServiceImpl implements ItemService {
     public ExtendedItemDto getItemById(long itemId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", itemId)));
 
-        Collection<Booking> bookings = bookingRepository.findByItemId(itemId);
+        ItemBookingSummary bookingSummary = itemBookingSummaryService.getSummaries(List.of(itemId)).get(itemId);
 
-        return ItemMapper.mapToExtendedItemDto(item, bookings);
+        return ItemMapper.mapToExtendedItemDto(item, bookingSummary, getCommentTexts(List.of(itemId)).getOrDefault(itemId, List.of()));
     }
 
     /**
@@ -109,72 +196,250 @@ public final class ItemServiceImpl implements ItemService {
     /**
      * Поиск вещей.
      *
-     * @param text текст для поиска.
+     * @param text  текст для поиска.
+     * @param mode  режим поиска.
+     * @param from  количество вещей, которое надо пропустить.
+     * @param size  количество вещей, которое надо получить.
+     * @param after курсор, после которого надо получить вещи; если указан, параметр from не учитывается.
      * @return список вещей.
      */
     @Override
-    public Collection<Item> search(String text) {
+    public Window<Item> search(String text, ItemSearchMode mode, int from, int size, ItemSearchCursor after) {
+        if (text == null || text.isBlank()) {
+            return Window.from(Collections.emptyList(), ScrollPosition::offset);
+        }
+
+        // Лишняя вещь запрашивается, чтобы узнать, есть ли следующая страница.
+        int offset = after == null ? from : 0;
+        List<ItemSearchHit> hits = itemSearchCache.get(text, mode, after, offset, size + 1,
+                normalizedText -> itemSearchIndex.search(normalizedText, mode, after, offset, size + 1));
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(hits.stream().map(ItemSearchHit::getId).toList()).stream()
+                .filter(Item::getAvailable)
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<ItemSearchHit> foundHits = hits.stream().filter(hit -> items.containsKey(hit.getId())).toList();
+
+        return Window.from(foundHits.stream().map(hit -> items.get(hit.getId())).toList(),
+                index -> ItemSearchCursor.of(foundHits.get(index)).toScrollPosition(),
+                hasNext);
+    }
+
+    /**
+     * Обойти все доступные вещи, в названии или описании которых есть фрагмент текста.
+     *
+     * @param text   текст для поиска.
+     * @param action действие над каждой найденной вещью.
+     */
+    @Override
+    public void streamSearch(String text, Consumer<Item> action) {
         if (text == null || text.isBlank()) {
-            return Collections.emptyList();
+            return;
         }
 
-        return itemRepository.findByNameOrDescriptionContainingIgnoreCase(text);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Item> items = itemRepository.streamBySubstring(LikePatterns.escape(text))) {
+                items.forEach(item -> {
+                    action.accept(item);
+                    // Обработанная вещь удаляется из контекста персистентности, чтобы расход памяти не зависел от числа вещей.
+                    entityManager.detach(item);
+                });
+            }
+        });
     }
 
     /**
      * Обновить вещь.
+     * <p>
+     * Если вещь одновременно изменена другим запросом, обновление повторяется для её новой версии.
      *
      * @param item вещь.
      * @return вещь.
      */
     @Override
     public Item updateItem(Item item) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyItemUpdate(item));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt == UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Добавить комментарий.
+     *
+     * @param comment комментарий.
+     * @return комментарий.
+     */
+    @Override
+    public Comment addCommentToItem(Comment comment) {
+        long authorId = comment.getAuthor().getId();
+        long itemId = comment.getItem().getId();
+
+        comment.setItem(itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", itemId))));
+        comment.setAuthor(userIdIndex.findById(authorId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", authorId))));
+
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(authorId, itemId, BookingStatus.APPROVED, LocalDateTime.now())) {
+            throw new CommentException(String.format("Пользователь с id = %d не может оставить комментарии к вещи с id = %d", authorId, itemId));
+        }
+
+        // Комментарий и счетчик комментариев вещи сохраняются в одной транзакции, чтобы счетчик не отставал от комментариев.
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            Comment createdComment = commentRepository.save(comment);
+            itemRepository.incrementCommentCount(createdComment.getItem().getId());
+            evictCachedItem(createdComment.getItem().getId());
+
+            return createdComment;
+        });
+    }
+
+    /**
+     * Получить комментарии к вещи, начиная с самых новых.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   количество комментариев, которое надо пропустить.
+     * @param size   количество комментариев, которое надо получить.
+     * @param after  курсор, после которого надо получить комментарии; если указан, параметр from не учитывается.
+     * @return страница комментариев.
+     */
+    @Override
+    public Window<Comment> getItemComments(long itemId, int from, int size, TimestampCursor after) {
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw new NotFoundException(String.format("Вещь с id = %d не найдена", itemId));
+        }
+
+        ScrollPosition position;
+        if (after != null) {
+            position = after.toScrollPosition("created");
+        } else {
+            // Позиция смещения указывает на последний пропущенный комментарий, выборка начинается со следующего.
+            position = from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+        }
+
+        return commentRepository.findByItemId(itemId, position, COMMENT_ORDER, Limit.of(size));
+    }
+
+    /**
+     * Получить календарь доступности вещи за период.
+     * <p>
+     * Занятыми считаются периоды подтвержденных броней вещи. Календарь строится по броням, пересекающим период,
+     * и кэшируется до создания или подтверждения брони этой вещи.
+     *
+     * @param itemId идентификатор вещи.
+     * @param from   начало периода.
+     * @param to     окончание периода.
+     * @return календарь доступности вещи.
+     */
+    @Override
+    public ItemAvailability getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw new NotFoundException(String.format("Вещь с id = %d не найдена", itemId));
+        }
+
+        if (!from.isBefore(to)) {
+            throw new ItemAvailabilityException(String.format("Начало периода %s должно быть раньше его окончания %s", from, to));
+        }
+
+        return itemAvailabilityCache.get(itemId, from, to, () -> ItemAvailability.of(itemId, from, to,
+                bookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfterOrderByStartAsc(itemId, BookingStatus.APPROVED, to, from)));
+    }
+
+    //region Facilities
+
+    /**
+     * Удалить вещь из кэша второго уровня.
+     * <p>
+     * Если вызов выполняется в транзакции, вещь удаляется после её фиксации, чтобы чтение до фиксации
+     * не вернуло в кэш прежнее состояние вещи.
+     *
+     * @param itemId идентификатор вещи.
+     */
+    private void evictCachedItem(long itemId) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evict(Item.class, itemId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(Item.class, itemId);
+            }
+        });
+    }
+
+    /**
+     * Применить изменения к текущей версии вещи.
+     *
+     * @param item вещь с изменёнными полями.
+     * @return вещь.
+     */
+    private Item applyItemUpdate(Item item) {
         Item oldItem = getItemById(item.getId(), item.getOwner().getId());
+        boolean searchableChanged = false;
 
         if (item.getName() != null && !item.getName().isBlank()) {
+            searchableChanged |= !item.getName().equals(oldItem.getName());
             oldItem.setName(item.getName());
         }
 
         if (item.getDescription() != null && !item.getDescription().isBlank()) {
+            searchableChanged |= !item.getDescription().equals(oldItem.getDescription());
             oldItem.setDescription(item.getDescription());
         }
 
         if (item.getAvailable() != null) {
+            searchableChanged |= !item.getAvailable().equals(oldItem.getAvailable());
             oldItem.setAvailable(item.getAvailable());
         }
 
-        return itemRepository.save(oldItem);
+        // Версия проверяется при записи, поэтому индекс обновляется только после успешного сохранения.
+        Item updatedItem = itemRepository.saveAndFlush(oldItem);
+
+        if (searchableChanged) {
+            itemSearchIndex.index(updatedItem);
+            itemSearchCache.invalidate(updatedItem);
+        }
+
+        return updatedItem;
     }
 
     /**
-     * Добавить комментарий.
+     * Получить тексты последних комментариев к вещам.
      *
-     * @param comment комментарий.
-     * @return комментарий.
+     * @param itemIds коллекция идентификаторов вещей.
+     * @return тексты комментариев, начиная с самых новых, сгруппированные по идентификатору вещи.
      */
-    @Override
-    public Comment addCommentToItem(Comment comment) {
-        Collection<Booking> authorBookings = bookingRepository.findByBookerIdAndItemId(comment.getAuthor().getId(), comment.getItem().getId());
-
-        if (authorBookings.isEmpty() || authorBookings.stream().filter(b -> b.getEnd().isBefore(LocalDateTime.now())).toList().isEmpty()) {
-            throw new CommentException(String.format("Пользователь с id = %d не может оставить комментарии к вещи с id = %d", comment.getAuthor().getId(), comment.getItem().getId()));
+    private Map<Long, List<String>> getCommentTexts(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
         }
 
-        comment.setItem(itemRepository.findById(comment.getItem().getId()).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", comment.getItem().getId()))));
-        comment.setAuthor(userRepository.findById(comment.getAuthor().getId()).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", comment.getAuthor().getId()))));
-
-        return commentRepository.save(comment);
+        return commentRepository.findLatestItemCommentTexts(itemIds, LATEST_COMMENTS_COUNT).stream()
+                .collect(Collectors.groupingBy(ItemCommentText::getItemId, Collectors.mapping(ItemCommentText::getText, Collectors.toList())));
     }
 
-    //region Facilities
-
     /**
      * Выбросить исключение, если пользователей не найден.
      *
      * @param userId идентификатор пользователя.
      */
     private void throwIfUserNotFound(long userId) {
-        if (!this.userRepository.existsById(userId)) {
+        if (!userIdIndex.exists(userId)) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
         }
     }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Function;
+
+/**
+ * Формирование ответов со страницами записей, выбираемых по курсору.
+ */
+public final class CursorPageResponses {
+    /**
+     * Заголовок ответа с курсором для получения следующей страницы.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Сформировать ответ со страницей записей.
+     * <p>
+     * Если за страницей есть ещё записи, в заголовок X-Next-Cursor помещается курсор последней записи страницы.
+     *
+     * @param page     страница записей.
+     * @param cursorOf получение строкового представления курсора, указывающего на запись.
+     * @param body     тело ответа.
+     * @param <T>      тип записей.
+     * @param <B>      тип тела ответа.
+     * @return ответ со страницей записей.
+     */
+    public static <T, B> ResponseEntity<B> of(Window<T> page, Function<T, String> cursorOf, B body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+
+        if (page.hasNext() && !page.isEmpty()) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, cursorOf.apply(page.getContent().getLast()));
+        }
+
+        return responseBuilder.body(body);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.pagination.converter;
+
+import org.springframework.core.convert.converter.Converter;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
+
+public final class TimestampCursorConverter implements Converter<String, TimestampCursor> {
+    @Override
+    public TimestampCursor convert(String source) {
+        return TimestampCursor.parse(source);
+    }
+}
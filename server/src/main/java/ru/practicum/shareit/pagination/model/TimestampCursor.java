@@ -0,0 +1,79 @@
+package ru.practicum.shareit.pagination.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Курсор для постраничного вывода записей, упорядоченных по дате и идентификатору.
+ * <p>
+ * Указывает на последнюю полученную запись, в строковом виде представляется как {@code <дата>,<идентификатор>}.
+ * Используется для броней (дата начала бронирования), комментариев и запросов вещей (дата создания).
+ */
+@Builder(toBuilder = true)
+@Data
+public final class TimestampCursor {
+    /**
+     * Дата записи.
+     */
+    private final LocalDateTime timestamp;
+
+    /**
+     * Идентификатор записи.
+     */
+    private final long id;
+
+    /**
+     * Получить курсор, указывающий на запись.
+     *
+     * @param timestamp дата записи.
+     * @param id        идентификатор записи.
+     * @return курсор.
+     */
+    public static TimestampCursor of(LocalDateTime timestamp, long id) {
+        return TimestampCursor.builder()
+                .timestamp(timestamp)
+                .id(id)
+                .build();
+    }
+
+    /**
+     * Разобрать строковое представление курсора.
+     *
+     * @param token строковое представление курсора.
+     * @return курсор.
+     */
+    public static TimestampCursor parse(String token) {
+        int separatorIndex = token.lastIndexOf(',');
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException(String.format("Некорректный курсор: %s", token));
+        }
+
+        return TimestampCursor.builder()
+                .timestamp(LocalDateTime.parse(token.substring(0, separatorIndex).trim()))
+                .id(Long.parseLong(token.substring(separatorIndex + 1).trim()))
+                .build();
+    }
+
+    /**
+     * Получить строковое представление курсора.
+     *
+     * @return строковое представление курсора.
+     */
+    public String toToken() {
+        return String.format("%s,%d", timestamp, id);
+    }
+
+    /**
+     * Получить позицию для выборки записей, следующих за курсором.
+     *
+     * @param timestampProperty название свойства сущности, в котором хранится дата записи.
+     * @return позиция для выборки записей.
+     */
+    public ScrollPosition toScrollPosition(String timestampProperty) {
+        return ScrollPosition.forward(Map.of(timestampProperty, timestamp, "id", id));
+    }
+}
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorPageResponses;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestSuggestionDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -18,6 +26,11 @@ import java.util.Collection;
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 public final class ItemRequestController {
+    /**
+     * Заголовок с идентификатором последнего полученного запроса для следующего опроса новых запросов.
+     */
+    public static final String LAST_ID_HEADER = "X-Last-Id";
+
     /**
      * Сервис для работы с запросами вещей.
      */
@@ -37,23 +50,78 @@ public final class ItemRequestController {
     }
 
     /**
-     * Получить список запросов вещей пользователя.
+     * Получить список запросов вещей пользователя вместе с вещами, созданными в ответ на них.
      *
      * @param userId идентификатор пользователя.
      */
     @GetMapping
-    public Collection<ItemRequestDto> getUserRequests(@RequestHeader(name = "X-Sharer-User-Id") long userId) {
-        return ItemRequestMapper.mapToItemRequestDtoCollection(requestService.getUserItemRequests(userId));
+    public Collection<ItemRequestWithItemsDto> getUserRequests(@RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return requestService.getUserItemRequests(userId);
     }
 
     /**
-     * Получить список запросов вещей других пользователей.
+     * Получить список запросов вещей других пользователей, начиная с самых новых.
+     * <p>
+     * Если за страницей есть ещё запросы, в заголовок X-Next-Cursor помещается курсор для получения следующей страницы.
+     * <p>
+     * Если указан параметр since, возвращаются только запросы с идентификатором больше него, начиная с самых старых,
+     * а в заголовок X-Last-Id помещается идентификатор последнего из них для следующего опроса. Ответ, в который
+     * вошли все новые запросы, помечается тегом ETag по параметрам опроса и наибольшему идентификатору запроса других
+     * пользователей: если с тех пор таких запросов не создавалось, повторный опрос с теми же параметрами получает
+     * 304 Not Modified без выборки запросов. Неполная страница тегом не помечается, чтобы клиент получил оставшиеся
+     * запросы.
      *
-     * @param userId идентификатор пользователя.
+     * @param userId      идентификатор пользователя.
+     * @param from        количество запросов, которое надо пропустить.
+     * @param size        количество запросов, которое надо получить.
+     * @param after       курсор, после которого надо получить запросы; если указан, параметр from не учитывается.
+     * @param since       идентификатор последнего полученного запроса, после которого надо получить новые запросы;
+     *                    если указан, параметры from и after не учитываются.
+     * @param ifNoneMatch тег ETag ответа на предыдущий опрос новых запросов.
      */
     @GetMapping("/all")
-    public Collection<ItemRequestDto> getOtherUsersRequests(@RequestHeader(name = "X-Sharer-User-Id") long userId) {
-        return ItemRequestMapper.mapToItemRequestDtoCollection(requestService.getOtherUsersItemRequests(userId));
+    public ResponseEntity<Collection<ItemRequestDto>> getOtherUsersRequests(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                                            @RequestParam(defaultValue = "0") int from,
+                                                                            @RequestParam(defaultValue = "10") int size,
+                                                                            @RequestParam(required = false) TimestampCursor after,
+                                                                            @RequestParam(required = false) Long since,
+                                                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (since != null) {
+            return getNewRequests(userId, size, since, ifNoneMatch);
+        }
+
+        Window<ItemRequest> requests = requestService.getOtherUsersItemRequests(userId, from, size, after);
+
+        return CursorPageResponses.of(requests, request -> TimestampCursor.of(request.getCreated(), request.getId()).toToken(),
+                ItemRequestMapper.mapToItemRequestDtoCollection(requests.getContent()));
+    }
+
+    /**
+     * Получить предложения вещей в ответ на запросы пользователя, начиная с самых новых.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     */
+    @GetMapping("/suggestions")
+    public Collection<ItemRequestSuggestionDto> getRequesterSuggestions(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                                        @RequestParam(defaultValue = "0") int from,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+        return ItemRequestMapper.mapToItemRequestSuggestionDtoCollection(requestService.getRequesterSuggestions(userId, from, size));
+    }
+
+    /**
+     * Получить предложения вещей пользователя в ответ на запросы других пользователей, начиная с самых новых.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     */
+    @GetMapping("/suggestions/owner")
+    public Collection<ItemRequestSuggestionDto> getOwnerSuggestions(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                                    @RequestParam(defaultValue = "0") int from,
+                                                                    @RequestParam(defaultValue = "10") int size) {
+        return ItemRequestMapper.mapToItemRequestSuggestionDtoCollection(requestService.getOwnerSuggestions(userId, from, size));
     }
 
     /**
@@ -68,4 +136,58 @@ public final class ItemRequestController {
                                               @PathVariable long requestId) {
         return requestService.getRequest(userId, requestId);
     }
+
+    //region Facilities
+
+    /**
+     * Получить запросы вещей других пользователей с идентификатором больше указанного.
+     * <p>
+     * Тег ETag означает, что клиент получил все запросы после since вплоть до наибольшего идентификатора, поэтому он
+     * выдается только вместе с последней страницей новых запросов. Существование пользователя проверяется до сравнения
+     * тегов, чтобы неизвестный пользователь получал 404, а не 304.
+     *
+     * @param userId      идентификатор пользователя.
+     * @param size        количество запросов, которое надо получить.
+     * @param since       идентификатор последнего полученного запроса.
+     * @param ifNoneMatch тег ETag ответа на предыдущий опрос новых запросов.
+     * @return новые запросы вещей.
+     */
+    private ResponseEntity<Collection<ItemRequestDto>> getNewRequests(long userId, int size, long since, String ifNoneMatch) {
+        String eTag = String.format("\"%d-%d-%d\"", since, size, requestService.getLatestOtherUsersItemRequestId(userId));
+        if (eTagMatches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        Window<ItemRequest> requests = requestService.getNewItemRequests(userId, size, since);
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        if (!requests.isEmpty()) {
+            responseBuilder.header(LAST_ID_HEADER, String.valueOf(requests.getContent().getLast().getId()));
+        }
+        if (!requests.hasNext()) {
+            responseBuilder.eTag(eTag);
+        }
+
+        return responseBuilder.body(ItemRequestMapper.mapToItemRequestDtoCollection(requests.getContent()));
+    }
+
+    /**
+     * Проверить, совпадает ли тег из заголовка If-None-Match с текущим тегом ответа.
+     *
+     * @param ifNoneMatch значение заголовка If-None-Match; может быть не указано.
+     * @param eTag        текущий тег ответа.
+     * @return признак совпадения.
+     */
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals(eTag));
+    }
+
+    //endregion
 }
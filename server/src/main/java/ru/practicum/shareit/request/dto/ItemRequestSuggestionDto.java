@@ -0,0 +1,43 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Трансферный объект для сущности "Предложение вещи в ответ на запрос вещи".
+ */
+@Builder(toBuilder = true)
+@Data
+public final class ItemRequestSuggestionDto {
+    /**
+     * Идентификатор предложения.
+     */
+    private final long id;
+
+    /**
+     * Идентификатор запроса вещи.
+     */
+    private final long requestId;
+
+    /**
+     * Описание требуемой вещи.
+     */
+    private final String requestDescription;
+
+    /**
+     * Идентификатор предложенной вещи.
+     */
+    private final long itemId;
+
+    /**
+     * Название предложенной вещи.
+     */
+    private final String itemName;
+
+    /**
+     * Дата и время создания предложения.
+     */
+    private final LocalDateTime created;
+}
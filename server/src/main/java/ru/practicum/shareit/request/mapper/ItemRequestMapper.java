@@ -3,8 +3,10 @@ package ru.practicum.shareit.request.mapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestSuggestionDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestMatch;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -68,4 +70,31 @@ public final class ItemRequestMapper {
     public static Collection<ItemRequestDto> mapToItemRequestDtoCollection(Collection<ItemRequest> itemRequestCollection) {
         return itemRequestCollection.stream().map(ItemRequestMapper::mapToItemRequestDto).toList();
     }
+
+    /**
+     * Преобразовать сведения о предложении вещи в трансферный объект для сущности "Предложение вещи в ответ на запрос вещи".
+     *
+     * @param match сведения о предложении вещи.
+     * @return трансферный объект для сущности "Предложение вещи в ответ на запрос вещи".
+     */
+    public static ItemRequestSuggestionDto mapToItemRequestSuggestionDto(ItemRequestMatch match) {
+        return ItemRequestSuggestionDto.builder()
+                .id(match.getId())
+                .requestId(match.getRequestId())
+                .requestDescription(match.getRequestDescription())
+                .itemId(match.getItemId())
+                .itemName(match.getItemName())
+                .created(match.getCreated())
+                .build();
+    }
+
+    /**
+     * Преобразовать список сведений о предложениях вещей в список трансферных объектов.
+     *
+     * @param matches список сведений о предложениях вещей.
+     * @return список трансферных объектов для сущности "Предложение вещи в ответ на запрос вещи".
+     */
+    public static Collection<ItemRequestSuggestionDto> mapToItemRequestSuggestionDtoCollection(Collection<ItemRequestMatch> matches) {
+        return matches.stream().map(ItemRequestMapper::mapToItemRequestSuggestionDto).toList();
+    }
 }
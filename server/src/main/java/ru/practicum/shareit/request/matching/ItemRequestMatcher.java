@@ -0,0 +1,212 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.SearchTokenizer;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Подбор открытых запросов вещей, которым может соответствовать вещь.
+ * <p>
+ * Хранит инвертированный индекс "слово - открытые запросы" в памяти приложения, поэтому подбор запросов для новой вещи
+ * не обращается к базе данных. Запрос считается открытым, пока в ответ на него не создана ни одна вещь.
+ */
+@Component
+@RequiredArgsConstructor
+public final class ItemRequestMatcher {
+    /**
+     * Минимальная доля слов запроса, которые должны встречаться в названии или описании вещи.
+     */
+    private static final double MIN_SCORE = 0.5;
+
+    /**
+     * Наибольшее количество запросов, подбираемых для одной вещи.
+     */
+    private static final int MAX_MATCHES = 10;
+
+    /**
+     * Хранилище запросов вещей.
+     */
+    private final ItemRequestRepository requestRepository;
+
+    /**
+     * Инвертированный индекс: слово - идентификаторы открытых запросов.
+     */
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Прямой индекс: идентификатор запроса - проиндексированные данные запроса.
+     */
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Построить индекс по всем открытым запросам из хранилища.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        requestRepository.findOpenRequestTexts()
+                .forEach(request -> add(request.getId(), request.getRequesterId(), request.getDescription()));
+    }
+
+    /**
+     * Добавить созданный запрос в индекс.
+     * <p>
+     * Если запрос создается в транзакции, он добавляется после её фиксации, чтобы вещи не сопоставлялись
+     * с несуществующим запросом.
+     *
+     * @param request запрос вещи.
+     */
+    public void index(ItemRequest request) {
+        afterCommit(() -> add(request.getId(), request.getRequester().getId(), request.getDescription()));
+    }
+
+    /**
+     * Убрать из индекса запрос, в ответ на который создана вещь.
+     *
+     * @param requestId идентификатор запроса вещи.
+     */
+    public void close(long requestId) {
+        afterCommit(() -> remove(requestId));
+    }
+
+    /**
+     * Убрать из индекса запросы удаленного пользователя.
+     *
+     * @param requesterId идентификатор пользователя.
+     */
+    public void removeRequester(long requesterId) {
+        afterCommit(() -> documents.forEach((id, document) -> {
+            if (document.getRequesterId() == requesterId) {
+                remove(id);
+            }
+        }));
+    }
+
+    /**
+     * Подобрать открытые запросы других пользователей, которым может соответствовать вещь.
+     * <p>
+     * Оценка запроса - доля его слов, встречающихся в названии или описании вещи. Запросы с оценкой ниже порога
+     * и запрос, в ответ на который создана вещь, отбрасываются, остальные упорядочиваются по убыванию оценки
+     * и идентификатора.
+     *
+     * @param item вещь.
+     * @return список идентификаторов запросов вещей.
+     */
+    public List<Long> match(Item item) {
+        Map<Long, Integer> sharedTokens = new HashMap<>();
+        Stream.concat(SearchTokenizer.tokenize(item.getName()).stream(), SearchTokenizer.tokenize(item.getDescription()).stream())
+                .distinct()
+                .forEach(token -> postings.getOrDefault(token, Set.of()).forEach(id -> sharedTokens.merge(id, 1, Integer::sum)));
+
+        if (item.getRequest() != null) {
+            sharedTokens.remove(item.getRequest().getId());
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        sharedTokens.forEach((id, count) -> {
+            Document document = documents.get(id);
+            if (document != null && document.getRequesterId() != item.getOwner().getId()) {
+                double score = (double) count / document.getTokens().size();
+                if (score >= MIN_SCORE) {
+                    scores.put(id, score);
+                }
+            }
+        });
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(MAX_MATCHES)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    //region Facilities
+
+    /**
+     * Добавить запрос в индекс.
+     *
+     * @param requestId   идентификатор запроса вещи.
+     * @param requesterId идентификатор пользователя, создавшего запрос.
+     * @param description описание требуемой вещи.
+     */
+    private synchronized void add(long requestId, long requesterId, String description) {
+        List<String> tokens = SearchTokenizer.tokenize(description);
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        tokens.forEach(token -> postings.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(requestId));
+        documents.put(requestId, new Document(requesterId, tokens));
+    }
+
+    /**
+     * Убрать запрос из индекса.
+     *
+     * @param requestId идентификатор запроса вещи.
+     */
+    private synchronized void remove(long requestId) {
+        Document document = documents.remove(requestId);
+        if (document == null) {
+            return;
+        }
+
+        document.getTokens().forEach(token -> postings.computeIfPresent(token, (t, ids) -> {
+            ids.remove(requestId);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    /**
+     * Выполнить действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action действие.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Проиндексированные данные запроса.
+     */
+    @AllArgsConstructor
+    @Getter
+    private static final class Document {
+        /**
+         * Идентификатор пользователя, создавшего запрос.
+         */
+        private final long requesterId;
+
+        /**
+         * Слова описания запроса.
+         */
+        private final List<String> tokens;
+    }
+
+    //endregion
+}
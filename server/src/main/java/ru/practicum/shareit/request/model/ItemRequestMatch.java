@@ -0,0 +1,50 @@
+package ru.practicum.shareit.request.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сведения о предложении вещи в ответ на запрос вещи.
+ */
+public interface ItemRequestMatch {
+    /**
+     * Получить идентификатор предложения.
+     *
+     * @return идентификатор предложения.
+     */
+    long getId();
+
+    /**
+     * Получить идентификатор запроса вещи.
+     *
+     * @return идентификатор запроса вещи.
+     */
+    long getRequestId();
+
+    /**
+     * Получить описание требуемой вещи.
+     *
+     * @return описание требуемой вещи.
+     */
+    String getRequestDescription();
+
+    /**
+     * Получить идентификатор предложенной вещи.
+     *
+     * @return идентификатор вещи.
+     */
+    long getItemId();
+
+    /**
+     * Получить название предложенной вещи.
+     *
+     * @return название вещи.
+     */
+    String getItemName();
+
+    /**
+     * Получить дату создания предложения.
+     *
+     * @return дата создания предложения.
+     */
+    LocalDateTime getCreated();
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.request.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+
+/**
+ * Предложение вещи в ответ на запрос вещи, подобранное по совпадению слов.
+ */
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Entity
+@Getter
+@NoArgsConstructor
+@Setter
+@Table(name = "item_request_suggestions", schema = "public")
+@ToString
+public final class ItemRequestSuggestion {
+    /**
+     * Идентификатор предложения.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    /**
+     * Запрос вещи.
+     */
+    @JoinColumn(name = "request_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    private ItemRequest request;
+
+    /**
+     * Предложенная вещь.
+     */
+    @JoinColumn(name = "item_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    private Item item;
+
+    /**
+     * Идентификатор пользователя, создавшего запрос; хранится в предложении, чтобы выбирать предложения по индексу.
+     */
+    @Column(name = "requester_id", nullable = false)
+    private long requesterId;
+
+    /**
+     * Идентификатор владельца вещи; хранится в предложении, чтобы выбирать предложения по индексу.
+     */
+    @Column(name = "owner_id", nullable = false)
+    private long ownerId;
+
+    /**
+     * Дата создания предложения.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime created;
+}
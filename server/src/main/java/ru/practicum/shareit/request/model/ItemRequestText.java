@@ -0,0 +1,27 @@
+package ru.practicum.shareit.request.model;
+
+/**
+ * Описание запроса вещи.
+ */
+public interface ItemRequestText {
+    /**
+     * Получить идентификатор запроса вещи.
+     *
+     * @return идентификатор запроса вещи.
+     */
+    long getId();
+
+    /**
+     * Получить идентификатор пользователя, создавшего запрос.
+     *
+     * @return идентификатор пользователя.
+     */
+    long getRequesterId();
+
+    /**
+     * Получить описание требуемой вещи.
+     *
+     * @return описание требуемой вещи.
+     */
+    String getDescription();
+}
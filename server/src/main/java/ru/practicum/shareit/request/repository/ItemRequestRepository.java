@@ -1,27 +1,66 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestText;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Контракт хранилища запросов вещей.
  */
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     /**
-     * Получить список запросов вещей по идентификатору пользователя.
+     * Получить список запросов вещей пользователя вместе с пользователем одним запросом, начиная с самых новых.
      *
      * @param userId идентификатор пользователя.
      * @return список запросов вещей.
      */
-    List<ItemRequest> findByRequesterId(long userId);
+    @EntityGraph(attributePaths = "requester")
+    List<ItemRequest> findByRequesterIdOrderByCreatedDescIdDesc(long userId);
 
     /**
-     * Получить список запросов вещей других пользователей, отсортированных от более новых к более старым.
+     * Получить страницу запросов вещей других пользователей.
+     * <p>
+     * Выборка по курсору выполняется по индексу {@code idx_item_requests_created}, поэтому время получения страницы
+     * не зависит от её положения в ленте.
+     *
+     * @param userId   идентификатор пользователя.
+     * @param position позиция, с которой надо получить запросы.
+     * @param sort     порядок вывода запросов.
+     * @param limit    количество запросов, которое надо получить.
+     * @return страница запросов вещей.
+     */
+    Window<ItemRequest> findByRequesterIdNot(long userId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Получить наибольший идентификатор запроса вещи, созданного другими пользователями.
+     * <p>
+     * Идентификаторы возрастают, поэтому он меняется при создании каждого нового запроса других пользователей;
+     * значение берется из индекса первичного ключа.
      *
      * @param userId идентификатор пользователя.
-     * @return список запросов вещей.
+     * @return наибольший идентификатор запроса вещи; пусто, если запросов нет.
+     */
+    @Query("SELECT MAX(ir.id) FROM ItemRequest ir WHERE ir.requester.id <> :userId")
+    Optional<Long> findMaxIdByRequesterIdNot(long userId);
+
+    /**
+     * Получить описания открытых запросов вещей, в ответ на которые ещё не создано ни одной вещи.
+     *
+     * @return список описаний запросов вещей.
      */
-    List<ItemRequest> findByRequesterIdNotOrderByCreatedDesc(long userId);
+    @Query("""
+            SELECT ir.id AS id, ir.requester.id AS requesterId, ir.description AS description
+            FROM ItemRequest ir
+            WHERE NOT EXISTS (SELECT i.id FROM Item i WHERE i.request.id = ir.id)
+            """)
+    List<ItemRequestText> findOpenRequestTexts();
 }
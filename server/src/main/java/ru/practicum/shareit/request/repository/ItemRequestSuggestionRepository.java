@@ -0,0 +1,77 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.request.model.ItemRequestMatch;
+import ru.practicum.shareit.request.model.ItemRequestSuggestion;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Контракт хранилища предложений вещей в ответ на запросы вещей.
+ */
+public interface ItemRequestSuggestionRepository extends JpaRepository<ItemRequestSuggestion, Long> {
+    /**
+     * Предложить вещь в ответ на запросы вещей.
+     * <p>
+     * Предложения вставляются одним запросом; идентификаторы пользователей берутся из запросов и вещи,
+     * а запросы, удаленные после подбора, пропускаются.
+     *
+     * @param itemId     идентификатор вещи.
+     * @param requestIds коллекция идентификаторов запросов вещей.
+     * @param created    дата создания предложений.
+     * @return количество созданных предложений.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO item_request_suggestions (request_id, item_id, requester_id, owner_id, created_at)
+            SELECT ir.id, i.id, ir.requester_id, i.owner_id, :created
+            FROM item_requests ir
+            JOIN items i ON i.id = :itemId
+            WHERE ir.id IN (:requestIds)
+            """, nativeQuery = true)
+    @Transactional
+    int insertSuggestions(long itemId, Collection<Long> requestIds, LocalDateTime created);
+
+    /**
+     * Получить предложения вещей в ответ на запросы пользователя, начиная с самых новых.
+     *
+     * @param requesterId идентификатор пользователя, создавшего запросы.
+     * @param from        количество предложений, которое надо пропустить.
+     * @param size        количество предложений, которое надо получить.
+     * @return список предложений.
+     */
+    @Query("""
+            SELECT s.id AS id, r.id AS requestId, r.description AS requestDescription, i.id AS itemId, i.name AS itemName, s.created AS created
+            FROM ItemRequestSuggestion s
+            JOIN s.request r
+            JOIN s.item i
+            WHERE s.requesterId = :requesterId
+            ORDER BY s.created DESC, s.id DESC
+            LIMIT :size OFFSET :from
+            """)
+    List<ItemRequestMatch> findByRequesterId(long requesterId, int from, int size);
+
+    /**
+     * Получить предложения вещей пользователя в ответ на запросы других пользователей, начиная с самых новых.
+     *
+     * @param ownerId идентификатор владельца вещей.
+     * @param from    количество предложений, которое надо пропустить.
+     * @param size    количество предложений, которое надо получить.
+     * @return список предложений.
+     */
+    @Query("""
+            SELECT s.id AS id, r.id AS requestId, r.description AS requestDescription, i.id AS itemId, i.name AS itemName, s.created AS created
+            FROM ItemRequestSuggestion s
+            JOIN s.request r
+            JOIN s.item i
+            WHERE s.ownerId = :ownerId
+            ORDER BY s.created DESC, s.id DESC
+            LIMIT :size OFFSET :from
+            """)
+    List<ItemRequestMatch> findByOwnerId(long ownerId, int from, int size);
+}
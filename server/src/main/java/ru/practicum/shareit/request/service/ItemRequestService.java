@@ -1,7 +1,11 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestMatch;
 
 import java.util.Collection;
 
@@ -18,20 +22,41 @@ public interface ItemRequestService {
     ItemRequest createItemRequest(ItemRequest request);
 
     /**
-     * Получить список запросов вещей пользователя.
+     * Получить список запросов вещей пользователя вместе с вещами, созданными в ответ на них.
      *
      * @param userId идентификатор пользователя.
      * @return список запросов вещей.
      */
-    Collection<ItemRequest> getUserItemRequests(long userId);
+    Collection<ItemRequestWithItemsDto> getUserItemRequests(long userId);
 
     /**
-     * Получить список запросов вещей других пользователей.
+     * Получить страницу запросов вещей других пользователей, начиная с самых новых.
      *
      * @param userId идентификатор пользователя.
-     * @return список запросов вещей.
+     * @param from   количество запросов, которое надо пропустить.
+     * @param size   количество запросов, которое надо получить.
+     * @param after  курсор, после которого надо получить запросы; если указан, параметр from не учитывается.
+     * @return страница запросов вещей.
+     */
+    Window<ItemRequest> getOtherUsersItemRequests(long userId, int from, int size, TimestampCursor after);
+
+    /**
+     * Получить запросы вещей других пользователей с идентификатором больше указанного, начиная с самых старых.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param size    количество запросов, которое надо получить.
+     * @param sinceId идентификатор последнего полученного пользователем запроса.
+     * @return страница запросов вещей.
+     */
+    Window<ItemRequest> getNewItemRequests(long userId, int size, long sinceId);
+
+    /**
+     * Получить идентификатор последнего запроса вещи, созданного другими пользователями.
+     *
+     * @param userId идентификатор пользователя.
+     * @return идентификатор запроса вещи; 0, если запросов нет.
      */
-    Collection<ItemRequest> getOtherUsersItemRequests(long userId);
+    long getLatestOtherUsersItemRequestId(long userId);
 
     /**
      * Получить запрос вещи.
@@ -41,4 +66,31 @@ public interface ItemRequestService {
      * @return запрос вещи.
      */
     ItemRequestWithItemsDto getRequest(long userId, long requestId);
+
+    /**
+     * Предложить созданную вещь в ответ на подходящие открытые запросы других пользователей.
+     *
+     * @param item вещь.
+     */
+    void suggestItem(Item item);
+
+    /**
+     * Получить предложения вещей в ответ на запросы пользователя, начиная с самых новых.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     * @return список предложений.
+     */
+    Collection<ItemRequestMatch> getRequesterSuggestions(long userId, int from, int size);
+
+    /**
+     * Получить предложения вещей пользователя в ответ на запросы других пользователей, начиная с самых новых.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     * @return список предложений.
+     */
+    Collection<ItemRequestMatch> getOwnerSuggestions(long userId, int from, int size);
 }
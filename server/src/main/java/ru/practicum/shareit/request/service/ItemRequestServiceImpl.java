@@ -1,16 +1,29 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.matching.ItemRequestMatcher;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestMatch;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.request.repository.ItemRequestSuggestionRepository;
+import ru.practicum.shareit.user.index.UserIdIndex;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с запросами вещей.
@@ -18,20 +31,40 @@ import java.util.Collection;
 @RequiredArgsConstructor
 @Service
 public final class ItemRequestServiceImpl implements ItemRequestService {
+    /**
+     * Порядок вывода запросов вещей: по убыванию даты создания и идентификатора.
+     */
+    private static final Sort REQUEST_ORDER = Sort.by(Sort.Direction.DESC, "created", "id");
+
+    /**
+     * Порядок вывода новых запросов вещей: по возрастанию идентификатора.
+     */
+    private static final Sort NEW_REQUEST_ORDER = Sort.by(Sort.Direction.ASC, "id");
+
     /**
      * Хранилище вещей.
      */
     private final ItemRepository itemRepository;
 
+    /**
+     * Подбор открытых запросов вещей для новых вещей.
+     */
+    private final ItemRequestMatcher itemRequestMatcher;
+
     /**
      * Хранилище запросов вещей.
      */
     private final ItemRequestRepository requestRepository;
 
     /**
-     * Хранилище пользователей.
+     * Хранилище предложений вещей в ответ на запросы вещей.
+     */
+    private final ItemRequestSuggestionRepository suggestionRepository;
+
+    /**
+     * Индекс идентификаторов существующих пользователей.
      */
-    private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
 
     /**
      * Создать запрос вещи.
@@ -42,31 +75,90 @@ public final class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemRequest createItemRequest(ItemRequest request) {
         throwIfUserNotFound(request.getRequester().getId());
-        return requestRepository.save(request);
+
+        ItemRequest createdRequest = requestRepository.save(request);
+        itemRequestMatcher.index(createdRequest);
+
+        return createdRequest;
     }
 
     /**
-     * Получить список запросов вещей пользователя.
+     * Получить список запросов вещей пользователя вместе с вещами, созданными в ответ на них, начиная с самых новых.
+     * <p>
+     * Вещи всех запросов загружаются одним запросом к хранилищу и группируются по запросам в памяти. Существование
+     * пользователя проверяется, только если запросов не найдено, поэтому список получается двумя запросами к хранилищу.
      *
      * @param userId идентификатор пользователя.
      * @return список запросов вещей.
      */
     @Override
-    public Collection<ItemRequest> getUserItemRequests(long userId) {
+    public Collection<ItemRequestWithItemsDto> getUserItemRequests(long userId) {
+        List<ItemRequest> requests = requestRepository.findByRequesterIdOrderByCreatedDescIdDesc(userId);
+        if (requests.isEmpty()) {
+            throwIfUserNotFound(userId);
+            return List.of();
+        }
+
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findByRequestIdIn(requests.stream().map(ItemRequest::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+
+        return requests.stream()
+                .map(request -> ItemRequestMapper.mapToItemRequestWithItemsDto(request, itemsByRequestId.getOrDefault(request.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Получить страницу запросов вещей других пользователей, начиная с самых новых.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество запросов, которое надо пропустить.
+     * @param size   количество запросов, которое надо получить.
+     * @param after  курсор, после которого надо получить запросы; если указан, параметр from не учитывается.
+     * @return страница запросов вещей.
+     */
+    @Override
+    public Window<ItemRequest> getOtherUsersItemRequests(long userId, int from, int size, TimestampCursor after) {
+        throwIfUserNotFound(userId);
+
+        ScrollPosition position;
+        if (after != null) {
+            position = after.toScrollPosition("created");
+        } else {
+            // Позиция смещения указывает на последний пропущенный запрос, выборка начинается со следующего.
+            position = from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+        }
+
+        return requestRepository.findByRequesterIdNot(userId, position, REQUEST_ORDER, Limit.of(size));
+    }
+
+    /**
+     * Получить запросы вещей других пользователей с идентификатором больше указанного, начиная с самых старых.
+     * <p>
+     * Новые запросы отбираются по идентификатору, а не по дате создания: дата задается при создании запроса
+     * и может оказаться раньше даты уже полученного запроса. Выборка выполняется по первичному ключу.
+     *
+     * @param userId  идентификатор пользователя.
+     * @param size    количество запросов, которое надо получить.
+     * @param sinceId идентификатор последнего полученного пользователем запроса.
+     * @return страница запросов вещей.
+     */
+    @Override
+    public Window<ItemRequest> getNewItemRequests(long userId, int size, long sinceId) {
         throwIfUserNotFound(userId);
-        return requestRepository.findByRequesterId(userId);
+        return requestRepository.findByRequesterIdNot(userId, ScrollPosition.forward(Map.of("id", sinceId)), NEW_REQUEST_ORDER, Limit.of(size));
     }
 
     /**
-     * Получить список запросов вещей других пользователей.
+     * Получить идентификатор последнего запроса вещи, созданного другими пользователями.
      *
      * @param userId идентификатор пользователя.
-     * @return список запросов вещей.
+     * @return идентификатор запроса вещи; 0, если запросов нет.
      */
     @Override
-    public Collection<ItemRequest> getOtherUsersItemRequests(long userId) {
+    public long getLatestOtherUsersItemRequestId(long userId) {
         throwIfUserNotFound(userId);
-        return requestRepository.findByRequesterIdNotOrderByCreatedDesc(userId);
+        return requestRepository.findMaxIdByRequesterIdNot(userId).orElse(0L);
     }
 
     /**
@@ -85,6 +177,54 @@ public final class ItemRequestServiceImpl implements ItemRequestService {
         );
     }
 
+    /**
+     * Предложить созданную вещь в ответ на подходящие открытые запросы других пользователей.
+     * <p>
+     * Запросы подбираются по индексу в памяти, а предложения сохраняются одним запросом к хранилищу. Запрос,
+     * в ответ на который создана вещь, перестает быть открытым.
+     *
+     * @param item вещь.
+     */
+    @Override
+    public void suggestItem(Item item) {
+        if (item.getRequest() != null) {
+            itemRequestMatcher.close(item.getRequest().getId());
+        }
+
+        List<Long> requestIds = itemRequestMatcher.match(item);
+        if (!requestIds.isEmpty()) {
+            suggestionRepository.insertSuggestions(item.getId(), requestIds, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Получить предложения вещей в ответ на запросы пользователя, начиная с самых новых.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     * @return список предложений.
+     */
+    @Override
+    public Collection<ItemRequestMatch> getRequesterSuggestions(long userId, int from, int size) {
+        throwIfUserNotFound(userId);
+        return suggestionRepository.findByRequesterId(userId, from, size);
+    }
+
+    /**
+     * Получить предложения вещей пользователя в ответ на запросы других пользователей, начиная с самых новых.
+     *
+     * @param userId идентификатор пользователя.
+     * @param from   количество предложений, которое надо пропустить.
+     * @param size   количество предложений, которое надо получить.
+     * @return список предложений.
+     */
+    @Override
+    public Collection<ItemRequestMatch> getOwnerSuggestions(long userId, int from, int size) {
+        throwIfUserNotFound(userId);
+        return suggestionRepository.findByOwnerId(userId, from, size);
+    }
+
     //region Facilities
 
     /**
@@ -93,7 +233,7 @@ public final class ItemRequestServiceImpl implements ItemRequestService {
      * @param userId идентификатор пользователя.
      */
     private void throwIfUserNotFound(long userId) {
-        if (!this.userRepository.existsById(userId)) {
+        if (!userIdIndex.exists(userId)) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
         }
     }
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.user.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Индекс идентификаторов существующих пользователей в памяти приложения.
+ * <p>
+ * Идентификаторы хранятся в разреженной битовой карте: один бит на идентификатор, а страницы карты создаются только
+ * для диапазонов, в которых есть пользователи, поэтому объем памяти зависит от количества пользователей, а не от
+ * наибольшего идентификатора. Индекс может содержать лишние идентификаторы (например, пользователя, транзакция
+ * создания которого откатилась), но не пропускает пользователей, созданных и удаленных через этот экземпляр
+ * приложения: новый идентификатор добавляется сразу после вставки, а удаленный убирается только после фиксации
+ * транзакции удаления.
+ * <p>
+ * Пользователей, созданных другими экземплярами приложения, индекс не видит. Поэтому по умолчанию отсутствие
+ * идентификатора в индексе перепроверяется по базе данных, а найденный там идентификатор добавляется в индекс.
+ * Доверять индексу без обращения к базе данных можно, только если приложение работает в одном экземпляре: это
+ * включается настройкой shareit.user-id-index.single-instance.
+ */
+@Component
+public final class UserIdIndex {
+    /**
+     * Количество бит в номере идентификатора внутри страницы битовой карты.
+     */
+    private static final int PAGE_SHIFT = 12;
+
+    /**
+     * Количество 64-битных слов в странице битовой карты.
+     */
+    private static final int PAGE_WORD_COUNT = (1 << PAGE_SHIFT) / Long.SIZE;
+
+    /**
+     * Хранилище пользователей.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Признак работы приложения в одном экземпляре, при котором отсутствие идентификатора в индексе не
+     * перепроверяется по базе данных.
+     */
+    private final boolean singleInstance;
+
+    /**
+     * Страницы битовой карты идентификаторов пользователей: номер страницы - слова страницы.
+     */
+    private final Map<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Признак того, что индекс заполнен идентификаторами из хранилища.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Конструктор.
+     *
+     * @param userRepository хранилище пользователей.
+     * @param singleInstance признак работы приложения в одном экземпляре.
+     */
+    public UserIdIndex(UserRepository userRepository,
+                       @Value("${shareit.user-id-index.single-instance:false}") boolean singleInstance) {
+        this.userRepository = userRepository;
+        this.singleInstance = singleInstance;
+    }
+
+    /**
+     * Заполнить индекс идентификаторами всех пользователей из хранилища.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        userRepository.findAllIds().forEach(this::setBit);
+        loaded = true;
+    }
+
+    /**
+     * Проверить, есть ли идентификатор пользователя в индексе.
+     *
+     * @param userId идентификатор пользователя.
+     * @return {@code false}, если идентификатора в индексе нет; {@code true}, если пользователь может существовать.
+     */
+    public boolean mightContain(long userId) {
+        if (!loaded) {
+            return true;
+        }
+
+        if (userId < 0) {
+            return false;
+        }
+
+        AtomicLongArray words = pages.get(userId >>> PAGE_SHIFT);
+
+        return words != null && (words.get(getWordIndex(userId)) & (1L << userId)) != 0;
+    }
+
+    /**
+     * Получить пользователя.
+     * <p>
+     * В режиме одного экземпляра хранилище не запрашивается, если идентификатора нет в индексе.
+     *
+     * @param userId идентификатор пользователя.
+     * @return пользователь.
+     */
+    public Optional<User> findById(long userId) {
+        if (mightContain(userId)) {
+            return userRepository.findById(userId);
+        }
+
+        if (singleInstance) {
+            return Optional.empty();
+        }
+
+        Optional<User> user = userRepository.findById(userId);
+        user.ifPresent(u -> setBit(userId));
+
+        return user;
+    }
+
+    /**
+     * Проверить, существует ли пользователь.
+     * <p>
+     * В режиме одного экземпляра хранилище не запрашивается, если идентификатора нет в индексе.
+     *
+     * @param userId идентификатор пользователя.
+     * @return признак существования пользователя.
+     */
+    public boolean exists(long userId) {
+        if (mightContain(userId)) {
+            return userRepository.existsById(userId);
+        }
+
+        if (singleInstance || !userRepository.existsById(userId)) {
+            return false;
+        }
+
+        setBit(userId);
+        return true;
+    }
+    /**
+     * Добавить идентификатор созданного пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    public void add(long userId) {
+        setBit(userId);
+    }
+
+    /**
+     * Убрать идентификатор удаленного пользователя.
+     * <p>
+     * Если удаление выполняется в транзакции, идентификатор убирается после её фиксации: до этого момента
+     * пользователь для других транзакций ещё существует, а при откате останется существовать.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    public void remove(long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clearBit(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clearBit(userId);
+            }
+        });
+    }
+
+    //region Facilities
+
+    /**
+     * Установить бит идентификатора, при необходимости создав страницу битовой карты.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    private void setBit(long userId) {
+        if (userId < 0) {
+            return;
+        }
+
+        pages.computeIfAbsent(userId >>> PAGE_SHIFT, page -> new AtomicLongArray(PAGE_WORD_COUNT))
+                .getAndAccumulate(getWordIndex(userId), 1L << userId, (word, bit) -> word | bit);
+    }
+
+    /**
+     * Сбросить бит идентификатора.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    private void clearBit(long userId) {
+        if (userId < 0) {
+            return;
+        }
+
+        AtomicLongArray words = pages.get(userId >>> PAGE_SHIFT);
+        if (words != null) {
+            words.getAndAccumulate(getWordIndex(userId), 1L << userId, (word, bit) -> word & ~bit);
+        }
+    }
+
+    /**
+     * Получить номер слова, в котором хранится бит идентификатора, внутри страницы битовой карты.
+     *
+     * @param userId идентификатор пользователя.
+     * @return номер слова.
+     */
+    private static int getWordIndex(long userId) {
+        return (int) ((userId >>> 6) & (PAGE_WORD_COUNT - 1));
+    }
+
+    //endregion
+}
@@ -2,12 +2,17 @@ package ru.practicum.shareit.user.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.config.EntityCacheConfig;
 
 /**
  * Пользователь.
  */
 @AllArgsConstructor
 @Builder(toBuilder = true)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.USER_REGION)
+@Cacheable
 @Entity
 @Getter
 @NoArgsConstructor
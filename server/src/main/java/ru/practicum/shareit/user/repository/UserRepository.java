@@ -1,10 +1,20 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 /**
  * Контракт для хранилища пользователей.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Получить идентификаторы всех пользователей.
+     *
+     * @return список идентификаторов пользователей.
+     */
+    @Query("SELECT u.id FROM User u")
+    List<Long> findAllIds();
 }
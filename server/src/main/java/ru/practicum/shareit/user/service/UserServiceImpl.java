@@ -1,11 +1,20 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.request.matching.ItemRequestMatcher;
+import ru.practicum.shareit.user.index.UserIdIndex;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,11 +23,46 @@ import java.util.Optional;
 @RequiredArgsConstructor
 @Service
 public final class UserServiceImpl implements UserService {
+    /**
+     * Расписание подтвержденных броней вещей.
+     */
+    private final BookingSchedule bookingSchedule;
+
+    /**
+     * Хранилище броней.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Менеджер сущностей.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Кэш календарей доступности вещей.
+     */
+    private final ItemAvailabilityCache itemAvailabilityCache;
+
+    /**
+     * Сервис для работы со сводками ближайших бронирований вещей.
+     */
+    private final ItemBookingSummaryService itemBookingSummaryService;
+
+    /**
+     * Подбор открытых запросов вещей для новых вещей.
+     */
+    private final ItemRequestMatcher itemRequestMatcher;
+
     /**
      * Хранилище пользователей.
      */
     private final UserRepository userRepository;
 
+    /**
+     * Индекс идентификаторов существующих пользователей.
+     */
+    private final UserIdIndex userIdIndex;
+
     /**
      * Создать пользователя.
      *
@@ -27,7 +71,10 @@ public final class UserServiceImpl implements UserService {
      */
     @Override
     public User createUser(User user) {
-        return userRepository.save(user);
+        User createdUser = userRepository.save(user);
+        userIdIndex.add(createdUser.getId());
+
+        return createdUser;
     }
 
     /**
@@ -38,7 +85,7 @@ public final class UserServiceImpl implements UserService {
      */
     @Override
     public User getUserById(long userId) {
-        Optional<User> userOptional =  userRepository.findById(userId);
+        Optional<User> userOptional = userIdIndex.findById(userId);
 
         if (userOptional.isEmpty()) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
@@ -76,7 +123,25 @@ public final class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(long userId) {
         throwIfUserNotFound(userId);
+
+        // Брони пользователя удаляются каскадно, поэтому вещи, которые он бронировал, определяются до удаления.
+        List<Long> bookedItemIds = bookingRepository.findBookedItemIds(userId);
+
         userRepository.deleteById(userId);
+        userIdIndex.remove(userId);
+
+        // Вещи и брони пользователя удаляются в базе данных каскадно, мимо Hibernate, поэтому кэш вещей, расписания броней и календари доступности очищаются.
+        entityManager.getEntityManagerFactory().getCache().evict(Item.class);
+        bookingSchedule.evictAll();
+        itemAvailabilityCache.invalidateAll();
+
+        // Сводки ближайших бронирований вещей других владельцев могут указывать на удаленные брони.
+        if (!bookedItemIds.isEmpty()) {
+            itemBookingSummaryService.invalidate(bookedItemIds);
+        }
+
+        // Запросы вещей пользователя тоже удаляются каскадно.
+        itemRequestMatcher.removeRequester(userId);
     }
 
     //region Facilities
@@ -87,7 +152,7 @@ public final class UserServiceImpl implements UserService {
      * @param userId идентификатор пользователя.
      */
     private void throwIfUserNotFound(long userId) {
-        if (this.userRepository.findById(userId).isEmpty()) {
+        if (!userIdIndex.exists(userId)) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
         }
     }
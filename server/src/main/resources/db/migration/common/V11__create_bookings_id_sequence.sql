@@ -0,0 +1,5 @@
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE bookings_id_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_id_seq');
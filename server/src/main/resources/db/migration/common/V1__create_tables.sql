@@ -1,17 +1,17 @@
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL UNIQUE
 );
 
-CREATE TABLE IF NOT EXISTS item_requests (
+CREATE TABLE item_requests (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   description VARCHAR(512) NOT NULL,
   requester_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
   created_at TIMESTAMP NOT NULL DEFAULT NOW()
 );
 
-CREATE TABLE IF NOT EXISTS items (
+CREATE TABLE items (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name VARCHAR(255) NOT NULL,
   description VARCHAR(512) NOT NULL,
@@ -20,7 +20,7 @@ CREATE TABLE IF NOT EXISTS items (
   request_id BIGINT NULL REFERENCES item_requests (id) ON DELETE SET NULL
 );
 
-CREATE TABLE IF NOT EXISTS bookings (
+CREATE TABLE bookings (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   start_date TIMESTAMP NOT NULL,
   end_date TIMESTAMP NOT NULL,
@@ -29,10 +29,10 @@ CREATE TABLE IF NOT EXISTS bookings (
   item_id BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS comments (
+CREATE TABLE comments (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   text VARCHAR(512) NOT NULL,
   item_id BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
   author_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
   created_at TIMESTAMP NOT NULL DEFAULT NOW()
-);
\ No newline at end of file
+);
@@ -0,0 +1,11 @@
+CREATE INDEX idx_item_requests_requester_created ON item_requests (requester_id, created_at);
+
+CREATE INDEX idx_items_owner ON items (owner_id);
+
+CREATE INDEX idx_items_request ON items (request_id);
+
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX idx_comments_item ON comments (item_id);
@@ -0,0 +1,6 @@
+CREATE TABLE item_booking_summaries (
+  item_id BIGINT PRIMARY KEY REFERENCES items (id) ON DELETE CASCADE,
+  last_booking TIMESTAMP NULL,
+  next_booking TIMESTAMP NULL,
+  valid_until TIMESTAMP NULL
+);
@@ -0,0 +1,7 @@
+DROP INDEX idx_comments_item;
+
+CREATE INDEX idx_comments_item_created ON comments (item_id, created_at DESC, id DESC);
+
+ALTER TABLE items ADD COLUMN comment_count BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id);
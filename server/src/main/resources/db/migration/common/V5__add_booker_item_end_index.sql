@@ -0,0 +1 @@
+CREATE INDEX idx_bookings_booker_item_end ON bookings (booker_id, item_id, end_date);
@@ -0,0 +1 @@
+CREATE INDEX idx_item_requests_created ON item_requests (created_at DESC, id DESC);
@@ -0,0 +1,15 @@
+CREATE TABLE item_request_suggestions (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  request_id BIGINT NOT NULL REFERENCES item_requests (id) ON DELETE CASCADE,
+  item_id BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+  requester_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  UNIQUE (request_id, item_id)
+);
+
+CREATE INDEX idx_item_request_suggestions_item ON item_request_suggestions (item_id);
+
+CREATE INDEX idx_item_request_suggestions_requester ON item_request_suggestions (requester_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_item_request_suggestions_owner ON item_request_suggestions (owner_id, created_at DESC, id DESC);
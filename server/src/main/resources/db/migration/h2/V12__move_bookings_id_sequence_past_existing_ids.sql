@@ -0,0 +1 @@
+ALTER SEQUENCE bookings_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings);
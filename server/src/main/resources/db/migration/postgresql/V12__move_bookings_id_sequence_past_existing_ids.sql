@@ -0,0 +1 @@
+SELECT setval('bookings_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings), false);
@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_items_search ON items USING GIN (to_tsvector('simple', name || ' ' || description));
+
+CREATE INDEX idx_items_name_trgm ON items USING GIN (name gin_trgm_ops);
+
+CREATE INDEX idx_items_description_trgm ON items USING GIN (description gin_trgm_ops);
@@ -0,0 +1,145 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.config.PostgresContainerConfig;
+
+import java.util.List;
+
+/**
+ * Тесты использования индексов в планах запросов PostgreSQL.
+ * <p>
+ * В пустых таблицах планировщик всегда выбирает последовательный просмотр, поэтому он запрещается на время теста:
+ * если индекс не подходит для запроса, план всё равно будет содержать последовательный просмотр.
+ */
+@ActiveProfiles(PostgresContainerConfig.PROFILE)
+@Import(PostgresContainerConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+public class PostgresSchemaIndexTest {
+    private final EntityManager entityManager;
+
+    @BeforeEach
+    void beforeEach() {
+        entityManager.createNativeQuery("SELECT set_config('enable_seqscan', 'off', true)").getSingleResult();
+    }
+
+    @Test
+    void bookerBookingsUseIndexTest() {
+        assertIndexed("SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC, id DESC", "idx_bookings_booker_start");
+    }
+
+    @Test
+    void itemBookingsUseIndexTest() {
+        assertIndexed("SELECT * FROM bookings WHERE item_id = 1 ORDER BY start_date DESC, id DESC", "idx_bookings_item_start");
+    }
+
+    @Test
+    void bookerItemBookingsUseIndexTest() {
+        assertIndexed("SELECT 1 FROM bookings WHERE booker_id = 1 AND item_id = 1 AND end_date < NOW() FETCH FIRST 1 ROWS ONLY", "idx_bookings_booker_item_end");
+    }
+
+    @Test
+    void ownerItemsUseIndexTest() {
+        assertIndexed("SELECT * FROM items WHERE owner_id = 1", "idx_items_owner");
+    }
+
+    @Test
+    void requestItemsUseIndexTest() {
+        assertIndexed("SELECT * FROM items WHERE request_id = 1", "idx_items_request");
+    }
+
+    @Test
+    void requesterRequestsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_requests WHERE requester_id = 1 ORDER BY created_at DESC", "idx_item_requests_requester_created");
+    }
+
+    @Test
+    void otherUsersRequestsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_requests ORDER BY created_at DESC, id DESC FETCH FIRST 10 ROWS ONLY", "idx_item_requests_created");
+    }
+
+    @Test
+    void itemCommentsUseIndexTest() {
+        assertIndexed("SELECT * FROM comments WHERE item_id = 1 ORDER BY created_at DESC, id DESC", "idx_comments_item_created");
+    }
+
+    @Test
+    void requesterSuggestionsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_request_suggestions WHERE requester_id = 1 ORDER BY created_at DESC, id DESC FETCH FIRST 10 ROWS ONLY", "idx_item_request_suggestions_requester");
+    }
+
+    @Test
+    void ownerSuggestionsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_request_suggestions WHERE owner_id = 1 ORDER BY created_at DESC, id DESC FETCH FIRST 10 ROWS ONLY", "idx_item_request_suggestions_owner");
+    }
+
+    @Test
+    void itemsTextSearchUsesIndexTest() {
+        assertIndexed("SELECT id FROM items WHERE to_tsvector('simple', name || ' ' || description) @@ to_tsquery('simple', 'дрель:*')", "idx_items_search");
+    }
+
+    @Test
+    void itemsSubstringSearchUsesTrigramIndexTest() {
+        assertIndexed("SELECT id FROM items WHERE name ILIKE '%рел%'", "idx_items_name_trgm");
+        assertIndexed("SELECT id FROM items WHERE description ILIKE '%рел%'", "idx_items_description_trgm");
+    }
+
+    @Test
+    void itemsSimilaritySearchUsesTrigramIndexTest() {
+        assertIndexed("SELECT id FROM items WHERE 'дрель' <% name", "idx_items_name_trgm");
+    }
+
+    @Test
+    void extensionsInstalledTest() {
+        List<?> extensions = entityManager
+                .createNativeQuery("SELECT extname FROM pg_extension WHERE extname IN ('pg_trgm', 'btree_gist')")
+                .getResultList();
+
+        MatcherAssert.assertThat(extensions, Matchers.containsInAnyOrder("pg_trgm", "btree_gist"));
+    }
+
+    @Test
+    void bookingsOverlapConstraintCreatedTest() {
+        Number constraintCount = (Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM pg_constraint WHERE conrelid = 'bookings'::regclass AND conname = 'bookings_approved_no_overlap' AND contype = 'x'")
+                .getSingleResult();
+
+        MatcherAssert.assertThat(constraintCount.intValue(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void bookingsSequenceAllocatesBlocksTest() {
+        Object increment = entityManager
+                .createNativeQuery("SELECT increment FROM information_schema.sequences WHERE LOWER(sequence_name) = 'bookings_id_seq'")
+                .getSingleResult();
+
+        // Последовательность создается одной миграцией для обеих баз данных и совпадает с allocationSize брони.
+        MatcherAssert.assertThat(increment.toString(), Matchers.equalTo("50"));
+    }
+
+    /**
+     * Проверить, что запрос выполняется по индексу, а не последовательным просмотром таблицы.
+     *
+     * @param sql       текст запроса.
+     * @param indexName название индекса.
+     */
+    private void assertIndexed(String sql, String indexName) {
+        String plan = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList().toString();
+
+        MatcherAssert.assertThat(plan, Matchers.containsString(indexName));
+        MatcherAssert.assertThat(plan, Matchers.not(Matchers.containsString("Seq Scan")));
+    }
+}
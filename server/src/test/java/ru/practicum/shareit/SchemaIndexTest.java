@@ -0,0 +1,116 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Тесты использования индексов в планах запросов.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Transactional
+public class SchemaIndexTest {
+    private final EntityManager entityManager;
+
+    @Test
+    void bookerBookingsUseIndexTest() {
+        assertIndexed("SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC, id DESC", "idx_bookings_booker_start");
+    }
+
+    @Test
+    void itemBookingsUseIndexTest() {
+        assertIndexed("SELECT * FROM bookings WHERE item_id = 1 ORDER BY start_date DESC, id DESC", "idx_bookings_item_start");
+    }
+
+    @Test
+    void itemApprovedBookingsInPeriodUseIndexTest() {
+        assertIndexed("SELECT id, start_date, end_date FROM bookings WHERE item_id = 1 AND status = 1 AND start_date < NOW() AND end_date > NOW() ORDER BY start_date", "idx_bookings_item_start");
+    }
+
+    @Test
+    void bookerItemBookingsUseIndexTest() {
+        assertIndexed("SELECT 1 FROM bookings WHERE booker_id = 1 AND item_id = 1 AND end_date < NOW() FETCH FIRST 1 ROWS ONLY", "idx_bookings_booker_item_end");
+    }
+
+    @Test
+    void ownerItemsUseIndexTest() {
+        assertIndexed("SELECT * FROM items WHERE owner_id = 1", "idx_items_owner");
+    }
+
+    @Test
+    void requestItemsUseIndexTest() {
+        assertIndexed("SELECT * FROM items WHERE request_id = 1", "idx_items_request");
+    }
+
+    @Test
+    void requesterRequestsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_requests WHERE requester_id = 1 ORDER BY created_at DESC", "idx_item_requests_requester_created");
+    }
+
+    @Test
+    void otherUsersRequestsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_requests WHERE requester_id <> 1 AND (created_at < NOW() OR created_at = NOW() AND id < 1) ORDER BY created_at DESC, id DESC FETCH FIRST 10 ROWS ONLY", "idx_item_requests_created");
+    }
+
+    @Test
+    void newRequestsUsePrimaryKeyTest() {
+        assertNoTableScan("SELECT * FROM item_requests WHERE requester_id <> 1 AND id > 1 ORDER BY id FETCH FIRST 10 ROWS ONLY");
+    }
+
+    @Test
+    void itemCommentsUseIndexTest() {
+        assertIndexed("SELECT * FROM comments WHERE item_id = 1 ORDER BY created_at DESC, id DESC", "idx_comments_item_created");
+    }
+
+    @Test
+    void requesterSuggestionsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_request_suggestions WHERE requester_id = 1 ORDER BY created_at DESC, id DESC FETCH FIRST 10 ROWS ONLY", "idx_item_request_suggestions_requester");
+    }
+
+    @Test
+    void ownerSuggestionsUseIndexTest() {
+        assertIndexed("SELECT * FROM item_request_suggestions WHERE owner_id = 1 ORDER BY created_at DESC, id DESC FETCH FIRST 10 ROWS ONLY", "idx_item_request_suggestions_owner");
+    }
+
+    @Test
+    void bookingsSequenceAllocatesBlocksTest() {
+        Object increment = entityManager
+                .createNativeQuery("SELECT increment FROM information_schema.sequences WHERE LOWER(sequence_name) = 'bookings_id_seq'")
+                .getSingleResult();
+
+        // Последовательность создается одной миграцией для обеих баз данных и совпадает с allocationSize брони.
+        MatcherAssert.assertThat(increment.toString(), Matchers.equalTo("50"));
+    }
+
+    /**
+     * Проверить, что индекс создан, а запрос выполняется без полного просмотра таблицы.
+     *
+     * @param sql       текст запроса.
+     * @param indexName название индекса.
+     */
+    private void assertIndexed(String sql, String indexName) {
+        Number indexCount = (Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE LOWER(INDEX_NAME) = :indexName")
+                .setParameter("indexName", indexName)
+                .getSingleResult();
+        MatcherAssert.assertThat(indexCount.intValue(), Matchers.equalTo(1));
+
+        assertNoTableScan(sql);
+    }
+
+    /**
+     * Проверить, что запрос выполняется без полного просмотра таблицы.
+     *
+     * @param sql текст запроса.
+     */
+    private void assertNoTableScan(String sql) {
+        String plan = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList().toString();
+        MatcherAssert.assertThat(plan, Matchers.not(Matchers.containsStringIgnoringCase("tableScan")));
+    }
+}
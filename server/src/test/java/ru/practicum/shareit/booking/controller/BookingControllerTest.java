@@ -7,19 +7,26 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
 import ru.practicum.shareit.booking.model.BookingSearchState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPageResponses;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -39,6 +46,8 @@ public final class BookingControllerTest {
 
     private final Booking booking = Booking.builder()
             .id(1L)
+            .start(LocalDateTime.of(2024, 1, 1, 10, 0))
+            .end(LocalDateTime.of(2024, 1, 2, 10, 0))
             .status(BookingStatus.WAITING)
             .booker(User.builder().build())
             .item(Item.builder().build())
@@ -60,10 +69,64 @@ public final class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status", Matchers.is(booking.getStatus().name())));
     }
 
+    @Test
+    void createOverlappingBookingTest() throws Exception {
+        Mockito.when(bookingService.createBooking(Mockito.any()))
+                .thenThrow(new BookingConflictException("Вещь с id = 1 уже забронирована на пересекающийся период"));
+
+        mvc.perform(MockMvcRequestBuilders.post("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(createBookingDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error", Matchers.notNullValue()));
+    }
+
+    @Test
+    void createBookingsTest() throws Exception {
+        Mockito.when(bookingService.createBookings(Mockito.anyLong(), Mockito.anyList()))
+                .thenReturn(List.of(
+                        BookingBatchResult.builder().booking(booking).build(),
+                        BookingBatchResult.builder().error("Вещь с id = 2 не найдена").build()));
+
+        mvc.perform(MockMvcRequestBuilders.post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(List.of(createBookingDto, createBookingDto.toBuilder().itemId(2L).build())))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].booking.id", Matchers.is(booking.getId()), Long.class))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].error", Matchers.nullValue()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].booking", Matchers.nullValue()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error", Matchers.is("Вещь с id = 2 не найдена")));
+    }
+
+    @Test
+    void approveBookingsTest() throws Exception {
+        Booking approvedBooking = booking.toBuilder().status(BookingStatus.APPROVED).build();
+        Mockito.when(bookingService.approveBookings(1L, List.of(1L, 2L), true))
+                .thenReturn(List.of(approvedBooking));
+
+        mvc.perform(MockMvcRequestBuilders.patch("/bookings/batch?approved=true")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(List.of(1L, 2L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(approvedBooking.getId()), Long.class))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", Matchers.is(BookingStatus.APPROVED.name())));
+    }
+
     @Test
     void getBookingsTest() throws Exception {
-        Mockito.when(bookingService.getBookings(Mockito.anyLong(), Mockito.any(BookingSearchState.class)))
-                .thenReturn(List.of(booking));
+        Mockito.when(bookingService.getBookings(Mockito.anyLong(), Mockito.any(BookingSearchState.class), Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
         mvc.perform(MockMvcRequestBuilders.get("/bookings")
                         .header("X-Sharer-User-Id", 1)
@@ -74,10 +137,34 @@ public final class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", Matchers.is(booking.getStatus().name())));
     }
 
+    @Test
+    void getBookingsWithNextPageTest() throws Exception {
+        Mockito.when(bookingService.getBookings(Mockito.anyLong(), Mockito.any(BookingSearchState.class), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(TimestampCursor.class)))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset, true));
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings")
+                        .param("after", "2024-01-01T10:00:00,100")
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.header().string(CursorPageResponses.NEXT_CURSOR_HEADER, TimestampCursor.of(booking.getStart(), booking.getId()).toToken()));
+    }
+
+    @Test
+    void getBookingsWithMalformedCursorTest() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/bookings")
+                        .param("after", "100")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     void getOwnerBookingsTest() throws Exception {
-        Mockito.when(bookingService.getOwnerBookings(Mockito.anyLong(), Mockito.any(BookingSearchState.class)))
-                .thenReturn(List.of(booking));
+        Mockito.when(bookingService.getOwnerBookings(Mockito.anyLong(), Mockito.any(BookingSearchState.class), Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
+                .thenReturn(Window.from(List.of(booking), ScrollPosition::offset));
 
         mvc.perform(MockMvcRequestBuilders.get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1)
@@ -113,4 +200,16 @@ public final class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id", Matchers.is(booking.getId()), Long.class))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status", Matchers.is(booking.getStatus().name())));
     }
+
+    @Test
+    void approveAlreadyApprovedBookingTest() throws Exception {
+        Mockito.when(bookingService.approveBooking(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyBoolean()))
+                .thenThrow(new BookingConflictException("Бронь с id = 1 уже подтверждена или отклонена"));
+
+        mvc.perform(MockMvcRequestBuilders.patch("/bookings/" + 1 + "?approved=false")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error", Matchers.notNullValue()));
+    }
 }
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.schedule;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Тесты дерева интервалов броней.
+ */
+public final class BookingIntervalTreeTest {
+    /**
+     * Начало отсчета дат.
+     */
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void overlapsTest() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.add(1, hour(10), hour(20));
+        tree.add(2, hour(30), hour(40));
+
+        MatcherAssert.assertThat(tree.overlaps(hour(15), hour(35)), Matchers.is(true));
+        MatcherAssert.assertThat(tree.overlaps(hour(0), hour(10)), Matchers.is(false));
+        MatcherAssert.assertThat(tree.overlaps(hour(20), hour(30)), Matchers.is(false));
+        MatcherAssert.assertThat(tree.overlaps(hour(40), hour(50)), Matchers.is(false));
+
+        tree.remove(1, hour(10));
+        MatcherAssert.assertThat(tree.overlaps(hour(15), hour(16)), Matchers.is(false));
+        MatcherAssert.assertThat(tree.size(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void randomIntervalsTest() {
+        Random random = new Random(42);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+
+        // Результат дерева сверяется с перебором всех интервалов, в том числе пересекающихся между собой.
+        for (int i = 0; i < 2000; i++) {
+            if (!intervals.isEmpty() && random.nextInt(3) == 0) {
+                long[] interval = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(interval[0], hour(interval[1]));
+            } else {
+                long start = random.nextInt(10_000);
+                long[] interval = {i, start, start + 1 + random.nextInt(50)};
+                intervals.add(interval);
+                tree.add(interval[0], hour(interval[1]), hour(interval[2]));
+            }
+
+            long start = random.nextInt(10_000);
+            long end = start + 1 + random.nextInt(50);
+            boolean expected = intervals.stream().anyMatch(interval -> interval[1] < end && interval[2] > start);
+
+            MatcherAssert.assertThat(tree.overlaps(hour(start), hour(end)), Matchers.is(expected));
+            MatcherAssert.assertThat(tree.size(), Matchers.equalTo(intervals.size()));
+        }
+    }
+
+    //region Facilities
+
+    /**
+     * Получить дату, отстоящую от начала отсчета на указанное количество часов.
+     *
+     * @param hours количество часов.
+     * @return дата.
+     */
+    private static LocalDateTime hour(long hours) {
+        return ORIGIN.plusHours(hours);
+    }
+
+    //endregion
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.schedule;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.PostgresContainerConfig;
+import ru.practicum.shareit.generator.StringGenerator;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Тесты расписания подтвержденных броней на основе PostgreSQL.
+ */
+@ActiveProfiles(PostgresContainerConfig.PROFILE)
+@Import(PostgresContainerConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+public class PostgresBookingScheduleTest {
+    /**
+     * Расписание подтвержденных броней.
+     */
+    private final BookingSchedule bookingSchedule;
+
+    /**
+     * Хранилище броней.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Хранилище вещей.
+     */
+    private final ItemRepository itemRepository;
+
+    /**
+     * Хранилище пользователей.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Пользователь.
+     */
+    private User user;
+
+    /**
+     * Вещь.
+     */
+    private Item item;
+
+    /**
+     * Начало подтвержденной брони.
+     */
+    private LocalDateTime start;
+
+    @BeforeEach
+    void beforeEach() {
+        user = userRepository.save(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build());
+
+        item = itemRepository.save(Item.builder()
+                .name(StringGenerator.generateItemName())
+                .description(StringGenerator.generateItemDescription())
+                .available(true)
+                .owner(user)
+                .build());
+
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        saveBooking(start, start.plusDays(2), BookingStatus.APPROVED);
+    }
+
+    @Test
+    void usePostgresScheduleTest() {
+        MatcherAssert.assertThat(bookingSchedule, Matchers.instanceOf(PostgresBookingSchedule.class));
+    }
+
+    @Test
+    void isAvailableTest() {
+        MatcherAssert.assertThat(bookingSchedule.isAvailable(item.getId(), start.plusDays(1), start.plusDays(3)), Matchers.is(false));
+        MatcherAssert.assertThat(bookingSchedule.isAvailable(item.getId(), start.minusDays(1), start), Matchers.is(true));
+        MatcherAssert.assertThat(bookingSchedule.isAvailable(item.getId(), start.plusDays(2), start.plusDays(3)), Matchers.is(true));
+    }
+
+    @Test
+    void ignoreWaitingBookingsTest() {
+        saveBooking(start.plusDays(5), start.plusDays(6), BookingStatus.WAITING);
+
+        MatcherAssert.assertThat(bookingSchedule.isAvailable(item.getId(), start.plusDays(5), start.plusDays(6)), Matchers.is(true));
+    }
+
+    @Test
+    void overlappingWaitingBookingAllowedTest() {
+        // Ограничение-исключение распространяется только на подтвержденные брони.
+        Assertions.assertDoesNotThrow(() -> saveBooking(start.plusDays(1), start.plusDays(3), BookingStatus.WAITING));
+    }
+
+    @Test
+    void overlappingApprovedBookingRejectedByConstraintTest() {
+        // Ограничение-исключение bookings_approved_no_overlap защищает от пересечения даже при обходе расписания.
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> saveBooking(start.plusDays(1), start.plusDays(3), BookingStatus.APPROVED));
+    }
+
+    //region Facilities
+
+    /**
+     * Сохранить бронь вещи.
+     *
+     * @param bookingStart дата начала брони.
+     * @param bookingEnd   дата окончания брони.
+     * @param status       статус брони.
+     */
+    private void saveBooking(LocalDateTime bookingStart, LocalDateTime bookingEnd, BookingStatus status) {
+        bookingRepository.saveAndFlush(Booking.builder()
+                .start(bookingStart)
+                .end(bookingEnd)
+                .status(status)
+                .booker(user)
+                .item(item)
+                .build());
+    }
+
+    //endregion
+}
@@ -11,21 +11,43 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
 import ru.practicum.shareit.booking.model.BookingSearchState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.generator.StringGenerator;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * Тесты сервиса для работы с бронями.
@@ -36,6 +58,11 @@ import java.util.Collection;
 public class BookingServiceImplTest {
     private final EntityManager entityManager;
 
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Сервис для работы с бронями.
      */
@@ -156,10 +183,101 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.ALL);
+        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.ALL, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(5));
     }
 
+    @Test
+    void getBookingsPageTest() {
+        for (int i = 0; i < 11; i++) {
+            Booking otherBooking = Booking.builder()
+                    .item(item)
+                    .booker(user)
+                    .status(BookingStatus.WAITING)
+                    .start(LocalDateTime.now().plusDays(i + 2))
+                    .end(LocalDateTime.now().plusDays(i + 3))
+                    .build();
+            bookingService.createBooking(otherBooking);
+        }
+
+        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.ALL, 9, 5, null).getContent();
+        MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(bookings.stream().map(Booking::getId).toList(), Matchers.hasItem(booking.getId()));
+    }
+
+    @Test
+    void getBookingsByCursorTest() {
+        for (int i = 0; i < 11; i++) {
+            Booking otherBooking = Booking.builder()
+                    .item(item)
+                    .booker(user)
+                    .status(BookingStatus.WAITING)
+                    .start(LocalDateTime.now().plusDays(i % 3 + 1))
+                    .end(LocalDateTime.now().plusDays(i % 3 + 2))
+                    .build();
+            bookingService.createBooking(otherBooking);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> bookings = new ArrayList<>();
+        Window<Booking> page = bookingService.getBookings(user.getId(), BookingSearchState.ALL, 0, 5, null);
+        bookings.addAll(page.getContent());
+
+        while (page.hasNext()) {
+            page = bookingService.getBookings(user.getId(), BookingSearchState.ALL, 0, 5, TimestampCursor.of(page.getContent().getLast().getStart(), page.getContent().getLast().getId()));
+            bookings.addAll(page.getContent());
+        }
+
+        MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(12));
+        MatcherAssert.assertThat(bookings.stream().map(Booking::getId).distinct().count(), Matchers.equalTo(12L));
+        MatcherAssert.assertThat(bookings.stream().map(Booking::getStart).toList(),
+                Matchers.contains(bookings.stream().map(Booking::getStart).sorted(Comparator.reverseOrder()).toArray()));
+    }
+
+    @Test
+    void getBookingsStatementCountTest() {
+        for (int i = 0; i < 4; i++) {
+            User owner = User.builder()
+                    .name(StringGenerator.generateUserName())
+                    .email(StringGenerator.generateUserEmail())
+                    .build();
+            userService.createUser(owner);
+
+            Item otherItem = Item.builder()
+                    .name(StringGenerator.generateItemName())
+                    .description(StringGenerator.generateItemDescription())
+                    .available(true)
+                    .owner(owner)
+                    .build();
+            itemService.createItem(otherItem);
+
+            Booking otherBooking = Booking.builder()
+                    .item(otherItem)
+                    .booker(user)
+                    .status(BookingStatus.WAITING)
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(4))
+                    .build();
+            bookingService.createBooking(otherBooking);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Collection<BookingDto> bookings = BookingMapper.mapToBookingDtoCollection(bookingService.getBookings(user.getId(), BookingSearchState.ALL, 0, 10, null).getContent());
+
+        statistics.setStatisticsEnabled(false);
+
+        MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(5));
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(2L));
+    }
+
     @Test
     void getPastBookingsTest() {
         for (int i = 0; i < 4; i++) {
@@ -173,7 +291,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.PAST);
+        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.PAST, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(4));
     }
 
@@ -190,7 +308,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.FUTURE);
+        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.FUTURE, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(5));
     }
 
@@ -207,7 +325,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.CURRENT);
+        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.CURRENT, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(4));
     }
 
@@ -224,7 +342,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.WAITING);
+        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.WAITING, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(5));
     }
 
@@ -241,13 +359,13 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.REJECTED);
+        Collection<Booking> bookings = bookingService.getBookings(user.getId(), BookingSearchState.REJECTED, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(4));
     }
 
     @Test
     void getBookingsForNonExistentUserTest() {
-        Assertions.assertThrows(NotFoundException.class, () -> bookingService.getBookings(Long.MAX_VALUE, BookingSearchState.CURRENT));
+        Assertions.assertThrows(NotFoundException.class, () -> bookingService.getBookings(Long.MAX_VALUE, BookingSearchState.CURRENT, 0, 10, null));
     }
 
     @Test
@@ -269,7 +387,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.ALL);
+        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.ALL, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(5));
     }
 
@@ -292,7 +410,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.PAST);
+        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.PAST, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(4));
     }
 
@@ -315,7 +433,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.FUTURE);
+        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.FUTURE, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(5));
     }
 
@@ -338,13 +456,13 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.CURRENT);
-        MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(0));
+        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.CURRENT, 0, 10, null).getContent();
+        MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(4));
     }
 
     @Test
     void getOwnerBookingsForNonExistentUserTest() {
-        Assertions.assertThrows(NotFoundException.class, () -> bookingService.getOwnerBookings(Long.MAX_VALUE, BookingSearchState.CURRENT));
+        Assertions.assertThrows(NotFoundException.class, () -> bookingService.getOwnerBookings(Long.MAX_VALUE, BookingSearchState.CURRENT, 0, 10, null));
     }
 
     @Test
@@ -366,7 +484,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.WAITING);
+        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.WAITING, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(5));
     }
 
@@ -389,7 +507,7 @@ public class BookingServiceImplTest {
             bookingService.createBooking(otherBooking);
         }
 
-        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.REJECTED);
+        Collection<Booking> bookings = bookingService.getOwnerBookings(user.getId(), BookingSearchState.REJECTED, 0, 10, null).getContent();
         MatcherAssert.assertThat(bookings.size(), Matchers.equalTo(4));
     }
 
@@ -413,4 +531,402 @@ public class BookingServiceImplTest {
     void approveBookingByNonExistentUserTest() {
         Assertions.assertThrows(AccessDeniedException.class, () -> bookingService.approveBooking(booking.getId(), Long.MAX_VALUE, true));
     }
+
+    @Test
+    void createOverlappingBookingTest() {
+        bookingService.approveBooking(booking.getId(), user.getId(), true);
+
+        Booking overlappingBooking = Booking.builder()
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .start(booking.getStart().plusDays(1))
+                .end(booking.getEnd().plusDays(1))
+                .build();
+        Assertions.assertThrows(BookingConflictException.class, () -> bookingService.createBooking(overlappingBooking));
+    }
+
+    @Test
+    void createAdjacentBookingTest() {
+        Booking approvedBooking = bookingService.approveBooking(booking.getId(), user.getId(), true);
+
+        Booking adjacentBooking = Booking.builder()
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .start(approvedBooking.getEnd())
+                .end(approvedBooking.getEnd().plusDays(1))
+                .build();
+        bookingService.createBooking(adjacentBooking);
+
+        MatcherAssert.assertThat(adjacentBooking.getId(), CoreMatchers.not(0L));
+    }
+
+    @Test
+    void createBookingsTest() {
+        Booking approvedBooking = bookingService.approveBooking(booking.getId(), user.getId(), true);
+
+        Item unavailableItem = Item.builder()
+                .name(StringGenerator.generateItemName())
+                .description(StringGenerator.generateItemDescription())
+                .available(false)
+                .owner(user)
+                .build();
+        itemService.createItem(unavailableItem);
+
+        List<BookingBatchResult> results = bookingService.createBookings(user.getId(), List.of(
+                newBooking(item.getId(), approvedBooking.getEnd(), approvedBooking.getEnd().plusDays(1)),
+                newBooking(unavailableItem.getId(), approvedBooking.getStart(), approvedBooking.getEnd()),
+                newBooking(Long.MAX_VALUE, approvedBooking.getStart(), approvedBooking.getEnd()),
+                newBooking(item.getId(), approvedBooking.getStart().plusDays(1), approvedBooking.getEnd().plusDays(1)),
+                newBooking(item.getId(), approvedBooking.getEnd(), approvedBooking.getEnd().plusDays(2))));
+
+        MatcherAssert.assertThat(results.size(), Matchers.equalTo(5));
+        MatcherAssert.assertThat(results.stream().map(r -> r.getError() == null).toList(), Matchers.contains(true, false, false, false, true));
+
+        for (BookingBatchResult result : List.of(results.get(0), results.get(4))) {
+            Booking bookingFromDb = bookingService.getBooking(result.getBooking().getId(), user.getId());
+            MatcherAssert.assertThat(bookingFromDb.getStatus(), Matchers.equalTo(BookingStatus.WAITING));
+            MatcherAssert.assertThat(bookingFromDb.getItem().getId(), Matchers.equalTo(item.getId()));
+            MatcherAssert.assertThat(bookingFromDb.getBooker().getId(), Matchers.equalTo(user.getId()));
+        }
+    }
+
+    @Test
+    void createBookingsForNonExistentUserTest() {
+        List<Booking> bookings = List.of(newBooking(item.getId(), booking.getStart(), booking.getEnd()));
+        Assertions.assertThrows(NotFoundException.class, () -> bookingService.createBookings(Long.MAX_VALUE, bookings));
+    }
+
+    @Test
+    void createBookingsStatementCountTest() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Item otherItem = Item.builder()
+                    .name(StringGenerator.generateItemName())
+                    .description(StringGenerator.generateItemDescription())
+                    .available(true)
+                    .owner(user)
+                    .build();
+            itemService.createItem(otherItem);
+
+            bookings.add(newBooking(otherItem.getId(), LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2)));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<BookingBatchResult> results = bookingService.createBookings(user.getId(), bookings);
+
+        statistics.setStatisticsEnabled(false);
+
+        // Количество запросов не зависит от количества броней в пакете; идентификаторы выделяются блоками по 50,
+        // поэтому для пакета может понадобиться одно обращение к последовательности.
+        MatcherAssert.assertThat(results.stream().filter(r -> r.getError() == null).count(), Matchers.equalTo(20L));
+        MatcherAssert.assertThat(statistics.getEntityInsertCount(), Matchers.equalTo(20L));
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.lessThanOrEqualTo(6L));
+    }
+
+    @Test
+    void approveBookingsTest() {
+        Item otherItem = Item.builder()
+                .name(StringGenerator.generateItemName())
+                .description(StringGenerator.generateItemDescription())
+                .available(true)
+                .owner(user)
+                .build();
+        itemService.createItem(otherItem);
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking laterBooking = bookingService.createBooking(newBooking(item.getId(), now.plusDays(5), now.plusDays(6)));
+        Booking overlappingBooking = bookingService.createBooking(newBooking(item.getId(), now.plusDays(5).plusHours(12), now.plusDays(7)));
+        Booking otherItemBooking = bookingService.createBooking(newBooking(otherItem.getId(), now.plusDays(1), now.plusDays(4)));
+
+        List<Booking> approvedBookings = bookingService.approveBookings(user.getId(),
+                List.of(booking.getId(), laterBooking.getId(), overlappingBooking.getId(), otherItemBooking.getId()), true);
+
+        // Бронь, пересекающаяся с более ранней бронью пакета, не подтверждается.
+        MatcherAssert.assertThat(approvedBookings.stream().map(Booking::getId).toList(),
+                Matchers.containsInAnyOrder(booking.getId(), laterBooking.getId(), otherItemBooking.getId()));
+        MatcherAssert.assertThat(approvedBookings.stream().map(Booking::getStatus).distinct().toList(), Matchers.contains(BookingStatus.APPROVED));
+        MatcherAssert.assertThat(bookingService.getBooking(overlappingBooking.getId(), user.getId()).getStatus(), Matchers.equalTo(BookingStatus.WAITING));
+        Assertions.assertThrows(BookingConflictException.class, () -> bookingService.approveBooking(overlappingBooking.getId(), user.getId(), true));
+    }
+
+    @Test
+    void rejectBookingsTest() {
+        bookingService.approveBooking(booking.getId(), user.getId(), true);
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking waitingBooking = bookingService.createBooking(newBooking(item.getId(), now.plusDays(5), now.plusDays(6)));
+
+        List<Booking> rejectedBookings = bookingService.approveBookings(user.getId(), List.of(booking.getId(), waitingBooking.getId()), false);
+
+        // Подтвержденная бронь не отклоняется.
+        MatcherAssert.assertThat(rejectedBookings.stream().map(Booking::getId).toList(), Matchers.contains(waitingBooking.getId()));
+        MatcherAssert.assertThat(rejectedBookings.getFirst().getStatus(), Matchers.equalTo(BookingStatus.REJECTED));
+        MatcherAssert.assertThat(bookingService.getBooking(booking.getId(), user.getId()).getStatus(), Matchers.equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void approveBookingsByNonOwnerTest() {
+        User otherUser = User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+        userService.createUser(otherUser);
+
+        List<Long> bookingIds = List.of(booking.getId());
+        Assertions.assertThrows(AccessDeniedException.class, () -> bookingService.approveBookings(otherUser.getId(), bookingIds, true));
+        MatcherAssert.assertThat(bookingService.getBooking(booking.getId(), user.getId()).getStatus(), Matchers.equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void approveNonExistentBookingsTest() {
+        List<Long> bookingIds = List.of(booking.getId(), Long.MAX_VALUE);
+        Assertions.assertThrows(NotFoundException.class, () -> bookingService.approveBookings(user.getId(), bookingIds, true));
+    }
+
+    @Test
+    void approveBookingsStatementCountTest() {
+        List<Long> bookingIds = new ArrayList<>(List.of(booking.getId()));
+        for (int i = 0; i < 20; i++) {
+            Item otherItem = Item.builder()
+                    .name(StringGenerator.generateItemName())
+                    .description(StringGenerator.generateItemDescription())
+                    .available(true)
+                    .owner(user)
+                    .build();
+            itemService.createItem(otherItem);
+
+            bookingIds.add(bookingService.createBooking(newBooking(otherItem.getId(), LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2))).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Booking> approvedBookings = bookingService.approveBookings(user.getId(), bookingIds, true);
+
+        statistics.setStatisticsEnabled(false);
+
+        // Количество запросов не зависит от количества броней.
+        MatcherAssert.assertThat(approvedBookings.size(), Matchers.equalTo(21));
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(6L));
+    }
+
+    @Test
+    void approveOverlappingBookingTest() {
+        Booking overlappingBooking = Booking.builder()
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .start(booking.getStart().minusDays(1))
+                .end(booking.getStart().plusDays(1))
+                .build();
+        bookingService.createBooking(overlappingBooking);
+
+        bookingService.approveBooking(booking.getId(), user.getId(), true);
+        Assertions.assertThrows(BookingConflictException.class, () -> bookingService.approveBooking(overlappingBooking.getId(), user.getId(), true));
+    }
+
+    @Test
+    void approveProcessedBookingTest() {
+        bookingService.approveBooking(booking.getId(), user.getId(), true);
+
+        Assertions.assertThrows(BookingConflictException.class, () -> bookingService.approveBooking(booking.getId(), user.getId(), false));
+        MatcherAssert.assertThat(bookingService.getBooking(booking.getId(), user.getId()).getStatus(), Matchers.equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void approveBookingVersionTest() {
+        long version = booking.getVersion();
+
+        Booking approvedBooking = bookingService.approveBooking(booking.getId(), user.getId(), true);
+
+        MatcherAssert.assertThat(approvedBooking.getStatus(), Matchers.equalTo(BookingStatus.APPROVED));
+        MatcherAssert.assertThat(approvedBooking.getVersion(), Matchers.equalTo(version + 1));
+        MatcherAssert.assertThat(approvedBooking.getItem().getOwner().getId(), Matchers.equalTo(user.getId()));
+    }
+
+    @Test
+    void concurrentApproveBookingTest() throws Exception {
+        int bookingCount = 8;
+
+        // Брони создаются в отдельной транзакции, чтобы их видели потоки, подтверждающие брони.
+        User owner = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+        User booker = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+
+        try {
+            List<Long> bookingIds = inNewTransaction(() -> {
+                Item sharedItem = itemService.createItem(Item.builder()
+                        .name(StringGenerator.generateItemName())
+                        .description(StringGenerator.generateItemDescription())
+                        .available(true)
+                        .owner(owner)
+                        .build());
+
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < bookingCount; i++) {
+                    ids.add(bookingService.createBooking(Booking.builder()
+                            .item(sharedItem)
+                            .booker(booker)
+                            .status(BookingStatus.WAITING)
+                            .start(LocalDateTime.now().plusDays(1).plusHours(i))
+                            .end(LocalDateTime.now().plusDays(2).plusHours(i))
+                            .build()).getId());
+                }
+
+                return ids;
+            });
+
+            AtomicInteger approvedCount = new AtomicInteger();
+            AtomicInteger conflictCount = new AtomicInteger();
+            CountDownLatch startLatch = new CountDownLatch(1);
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(bookingCount)) {
+                List<Future<?>> futures = bookingIds.stream()
+                        .<Future<?>>map(bookingId -> executor.submit(() -> {
+                            startLatch.await();
+                            try {
+                                bookingService.approveBooking(bookingId, owner.getId(), true);
+                                approvedCount.incrementAndGet();
+                            } catch (BookingConflictException e) {
+                                conflictCount.incrementAndGet();
+                            }
+                            return null;
+                        }))
+                        .toList();
+
+                startLatch.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+
+            long approvedInDb = inNewTransaction(() -> bookingIds.stream()
+                    .filter(id -> bookingService.getBooking(id, owner.getId()).getStatus() == BookingStatus.APPROVED)
+                    .count());
+
+            // Все периоды попарно пересекаются, поэтому подтверждена может быть только одна бронь.
+            MatcherAssert.assertThat(approvedCount.get(), Matchers.equalTo(1));
+            MatcherAssert.assertThat(conflictCount.get(), Matchers.equalTo(bookingCount - 1));
+            MatcherAssert.assertThat(approvedInDb, Matchers.equalTo(1L));
+        } finally {
+            inNewTransaction(() -> {
+                userService.deleteUser(owner.getId());
+                userService.deleteUser(booker.getId());
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void concurrentApproveAndRejectBookingTest() throws Exception {
+        int threadCount = 8;
+
+        User owner = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+
+        try {
+            Booking waitingBooking = inNewTransaction(() -> bookingService.createBooking(Booking.builder()
+                    .item(itemService.createItem(Item.builder()
+                            .name(StringGenerator.generateItemName())
+                            .description(StringGenerator.generateItemDescription())
+                            .available(true)
+                            .owner(owner)
+                            .build()))
+                    .booker(owner)
+                    .status(BookingStatus.WAITING)
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .build()));
+
+            List<BookingStatus> winners = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger conflictCount = new AtomicInteger();
+            CountDownLatch startLatch = new CountDownLatch(1);
+
+            // Половина потоков подтверждает бронь, половина - отклоняет.
+            try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+                List<Future<?>> futures = IntStream.range(0, threadCount)
+                        .<Future<?>>mapToObj(i -> executor.submit(() -> {
+                            startLatch.await();
+                            try {
+                                winners.add(bookingService.approveBooking(waitingBooking.getId(), owner.getId(), i % 2 == 0).getStatus());
+                            } catch (BookingConflictException e) {
+                                conflictCount.incrementAndGet();
+                            }
+                            return null;
+                        }))
+                        .toList();
+
+                startLatch.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+
+            Booking bookingFromDb = inNewTransaction(() -> bookingService.getBooking(waitingBooking.getId(), owner.getId()));
+
+            MatcherAssert.assertThat(winners, Matchers.hasSize(1));
+            MatcherAssert.assertThat(conflictCount.get(), Matchers.equalTo(threadCount - 1));
+            MatcherAssert.assertThat(bookingFromDb.getStatus(), Matchers.equalTo(winners.getFirst()));
+            MatcherAssert.assertThat(bookingFromDb.getVersion(), Matchers.equalTo(waitingBooking.getVersion() + 1));
+        } finally {
+            inNewTransaction(() -> {
+                userService.deleteUser(owner.getId());
+                return null;
+            });
+        }
+    }
+
+    //region Facilities
+
+    /**
+     * Создать объект брони пользователя, ожидающей подтверждения.
+     *
+     * @param itemId идентификатор вещи.
+     * @param start  дата начала бронирования.
+     * @param end    дата окончания бронирования.
+     * @return бронь.
+     */
+    private Booking newBooking(long itemId, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(Item.builder().id(itemId).build())
+                .booker(User.builder().id(user.getId()).build())
+                .status(BookingStatus.WAITING)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    /**
+     * Выполнить действие в отдельной транзакции, которая фиксируется независимо от транзакции теста.
+     *
+     * @param action действие.
+     * @param <T>    тип результата действия.
+     * @return результат действия.
+     */
+    private <T> T inNewTransaction(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    //endregion
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Настройка контейнера PostgreSQL для интеграционных тестов.
+ * <p>
+ * Используется тот же образ, что и в compose.yaml; источник данных приложения подключается к контейнеру, а схема
+ * создается миграциями Flyway.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresContainerConfig {
+    /**
+     * Профиль, в котором тесты работают с PostgreSQL и реализациями, использующими его возможности.
+     */
+    public static final String PROFILE = "postgres";
+
+    @Bean
+    @ServiceConnection
+    public PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16.1"));
+    }
+}
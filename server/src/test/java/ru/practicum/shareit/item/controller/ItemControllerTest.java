@@ -7,21 +7,31 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.model.AvailabilityInterval;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPageResponses;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Тесты для контроллера для работы с вещами.
@@ -126,8 +136,8 @@ public final class ItemControllerTest {
 
     @Test
     void searchTest() throws Exception {
-        Mockito.when(itemService.search(Mockito.anyString()))
-                .thenReturn(List.of(item));
+        Mockito.when(itemService.search(Mockito.anyString(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
+                .thenReturn(Window.from(List.of(item), ScrollPosition::offset));
 
         mvc.perform(MockMvcRequestBuilders.get("/items/search?text=дрель")
                         .header("X-Sharer-User-Id", 1)
@@ -139,6 +149,40 @@ public final class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].available", Matchers.is(item.getAvailable())));
     }
 
+    @Test
+    void searchWithNextPageTest() throws Exception {
+        Mockito.when(itemService.search(Mockito.anyString(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
+                .thenReturn(Window.from(List.of(item), index -> ItemSearchCursor.builder().score(2).id(item.getId()).build().toScrollPosition(), true));
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/search?text=дрель&size=1")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(CursorPageResponses.NEXT_CURSOR_HEADER, "2.0," + item.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(item.getId()), Long.class));
+    }
+
+    @Test
+    void streamSearchTest() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<Item> action = invocation.getArgument(1);
+            action.accept(item);
+            action.accept(item);
+            return null;
+        }).when(itemService).streamSearch(Mockito.anyString(), Mockito.any());
+
+        MvcResult result = mvc.perform(MockMvcRequestBuilders.get("/items/search/stream?text=дрель")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].name", Matchers.is(item.getName())));
+    }
+
     @Test
     void updateItemTest() throws Exception {
         Mockito.when(itemService.updateItem(Mockito.any()))
@@ -172,4 +216,60 @@ public final class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id", Matchers.is(comment.getId()), Long.class))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.text", Matchers.is(comment.getText())));
     }
+
+    @Test
+    void getItemCommentsTest() throws Exception {
+        Comment createdComment = comment.toBuilder().created(LocalDateTime.of(2024, 1, 1, 12, 0)).build();
+        Mockito.when(itemService.getItemComments(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
+                .thenReturn(Window.from(List.of(createdComment), ScrollPosition::offset, true));
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/" + 1 + "/comments?size=1")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(CursorPageResponses.NEXT_CURSOR_HEADER, "2024-01-01T12:00," + createdComment.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(createdComment.getId()), Long.class))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].text", Matchers.is(createdComment.getText())));
+    }
+
+    @Test
+    void getItemAvailabilityTest() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime to = from.plusDays(3);
+        ItemAvailability availability = ItemAvailability.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .busy(List.of(AvailabilityInterval.builder().start(from.plusDays(1)).end(from.plusDays(2)).build()))
+                .free(List.of(
+                        AvailabilityInterval.builder().start(from).end(from.plusDays(1)).build(),
+                        AvailabilityInterval.builder().start(from.plusDays(2)).end(to).build()))
+                .build();
+        Mockito.when(itemService.getItemAvailability(1L, from, to)).thenReturn(availability);
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/" + 1 + "/availability?from=2024-01-01T12:00:00&to=2024-01-04T12:00:00")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.itemId", Matchers.is(1L), Long.class))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.busy.length()", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.busy[0].start", Matchers.is("2024-01-02T12:00:00")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.busy[0].end", Matchers.is("2024-01-03T12:00:00")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free.length()", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free[1].start", Matchers.is("2024-01-03T12:00:00")));
+    }
+
+    @Test
+    void getItemAvailabilityWithInvalidPeriodTest() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 4, 12, 0);
+        LocalDateTime to = from.minusDays(3);
+        Mockito.when(itemService.getItemAvailability(1L, from, to))
+                .thenThrow(new ItemAvailabilityException("Начало периода 2024-01-04T12:00 должно быть раньше его окончания 2024-01-01T12:00"));
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/" + 1 + "/availability?from=2024-01-04T12:00:00&to=2024-01-01T12:00:00")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error", Matchers.containsString("должно быть раньше")));
+    }
 }
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Тесты кэша результатов поиска вещей.
+ */
+public final class ItemSearchCacheTest {
+    /**
+     * Кэш результатов поиска вещей.
+     */
+    private final ItemSearchCache itemSearchCache = new ItemSearchCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    /**
+     * Количество выполненных поисков.
+     */
+    private final AtomicInteger searchCount = new AtomicInteger();
+
+    @Test
+    void getCachedResultTest() {
+        search("дрель", ItemSearchMode.TEXT, 1L);
+        search("  ДРЕЛЬ ", ItemSearchMode.TEXT, 1L);
+
+        MatcherAssert.assertThat(searchCount.get(), Matchers.is(1));
+    }
+
+    @Test
+    void skipResultReadBeforeEvictionTest() {
+        Item item = createItem(1L, "Дрель", "Простая дрель");
+
+        itemSearchCache.get("дрель", ItemSearchMode.TEXT, null, 0, 10, text -> {
+            searchCount.incrementAndGet();
+            itemSearchCache.invalidate(item);
+            return List.of(createHit(1L));
+        });
+        search("дрель", ItemSearchMode.TEXT, 1L);
+
+        MatcherAssert.assertThat(searchCount.get(), Matchers.is(2));
+    }
+
+    @Test
+    void evictQueriesContainingItemTest() {
+        search("дрель", ItemSearchMode.TEXT, 1L);
+        search("отвертка", ItemSearchMode.TEXT, 2L);
+
+        itemSearchCache.invalidate(createItem(1L, "Молоток", "Тяжелый молоток").toBuilder().available(false).build());
+        search("дрель", ItemSearchMode.TEXT, 1L);
+        search("отвертка", ItemSearchMode.TEXT, 2L);
+
+        MatcherAssert.assertThat(searchCount.get(), Matchers.is(3));
+    }
+
+    @Test
+    void evictTextQueriesMatchingItemTest() {
+        search("дрел", ItemSearchMode.TEXT);
+        search("аккумуляторная дрель", ItemSearchMode.TEXT);
+        search("отвертка", ItemSearchMode.TEXT);
+
+        itemSearchCache.invalidate(createItem(1L, "Дрель", "Аккумуляторная дрель"));
+        search("дрел", ItemSearchMode.TEXT);
+        search("аккумуляторная дрель", ItemSearchMode.TEXT);
+        search("отвертка", ItemSearchMode.TEXT);
+
+        MatcherAssert.assertThat(searchCount.get(), Matchers.is(5));
+    }
+
+    @Test
+    void evictSubstringQueriesMatchingItemTest() {
+        search("рель", ItemSearchMode.SUBSTRING);
+        search("вертк", ItemSearchMode.SUBSTRING);
+
+        itemSearchCache.invalidate(createItem(1L, "Дрель", "Простая дрель"));
+        search("рель", ItemSearchMode.SUBSTRING);
+        search("вертк", ItemSearchMode.SUBSTRING);
+
+        MatcherAssert.assertThat(searchCount.get(), Matchers.is(3));
+    }
+
+    @Test
+    void evictSimilarQueriesTest() {
+        search("дрель", ItemSearchMode.SIMILAR);
+
+        itemSearchCache.invalidate(createItem(1L, "Молоток", "Тяжелый молоток"));
+        search("дрель", ItemSearchMode.SIMILAR);
+
+        MatcherAssert.assertThat(searchCount.get(), Matchers.is(2));
+    }
+
+    //region Facilities
+
+    /**
+     * Выполнить поиск через кэш.
+     *
+     * @param text    текст для поиска.
+     * @param mode    режим поиска.
+     * @param itemIds идентификаторы найденных вещей.
+     */
+    private void search(String text, ItemSearchMode mode, Long... itemIds) {
+        itemSearchCache.get(text, mode, null, 0, 10, normalizedText -> {
+            searchCount.incrementAndGet();
+            return List.of(itemIds).stream().map(this::createHit).toList();
+        });
+    }
+
+    /**
+     * Создать найденную вещь.
+     *
+     * @param itemId идентификатор вещи.
+     * @return найденная вещь.
+     */
+    private ItemSearchHit createHit(long itemId) {
+        return ItemSearchCursor.builder().id(itemId).score(1).build();
+    }
+
+    /**
+     * Создать доступную для бронирования вещь.
+     *
+     * @param itemId      идентификатор вещи.
+     * @param name        наименование вещи.
+     * @param description описание вещи.
+     * @return вещь.
+     */
+    private Item createItem(long itemId, String name, String description) {
+        return Item.builder().id(itemId).name(name).description(description).available(true).build();
+    }
+
+    //endregion
+}
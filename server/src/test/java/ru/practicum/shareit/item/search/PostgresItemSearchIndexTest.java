@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.config.PostgresContainerConfig;
+import ru.practicum.shareit.generator.StringGenerator;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+/**
+ * Тесты поискового индекса вещей на основе PostgreSQL.
+ */
+@ActiveProfiles(PostgresContainerConfig.PROFILE)
+@Import(PostgresContainerConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+public class PostgresItemSearchIndexTest {
+    private final EntityManager entityManager;
+
+    /**
+     * Поисковый индекс вещей.
+     */
+    private final ItemSearchIndex itemSearchIndex;
+
+    /**
+     * Хранилище вещей.
+     */
+    private final ItemRepository itemRepository;
+
+    /**
+     * Хранилище пользователей.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Доступная дрель.
+     */
+    private Item drill;
+
+    /**
+     * Доступная отвертка.
+     */
+    private Item screwdriver;
+
+    /**
+     * Недоступная дрель.
+     */
+    private Item unavailableDrill;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = userRepository.save(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build());
+
+        drill = createItem(owner, "Дрель ударная", "Аккумуляторная дрель, 50% заряда", true);
+        screwdriver = createItem(owner, "Отвертка", "Крестовая отвертка с насадкой под дрель", true);
+        unavailableDrill = createItem(owner, "Дрель", "Сетевая дрель", false);
+
+        entityManager.flush();
+    }
+
+    @Test
+    void usePostgresIndexTest() {
+        MatcherAssert.assertThat(itemSearchIndex, Matchers.instanceOf(PostgresItemSearchIndex.class));
+    }
+
+    @Test
+    void searchByTextPrefixTest() {
+        List<Long> ids = searchIds("ДРЕЛ", ItemSearchMode.TEXT);
+
+        // Вещь со словом запроса в наименовании ранжируется выше вещи, где оно есть только в описании.
+        MatcherAssert.assertThat(ids, Matchers.contains(drill.getId(), screwdriver.getId()));
+    }
+
+    @Test
+    void searchByAllTextWordsTest() {
+        MatcherAssert.assertThat(searchIds("дрель аккумулятор", ItemSearchMode.TEXT), Matchers.contains(drill.getId()));
+    }
+
+    @Test
+    void searchByTextWithOperatorCharactersTest() {
+        MatcherAssert.assertThat(searchIds("дрель & | ! :*", ItemSearchMode.TEXT), Matchers.contains(drill.getId(), screwdriver.getId()));
+    }
+
+    @Test
+    void searchBySubstringTest() {
+        MatcherAssert.assertThat(searchIds("ЕЛЬ УД", ItemSearchMode.SUBSTRING), Matchers.contains(drill.getId()));
+    }
+
+    @Test
+    void searchBySubstringWithLikeWildcardsTest() {
+        MatcherAssert.assertThat(searchIds("50%", ItemSearchMode.SUBSTRING), Matchers.contains(drill.getId()));
+        MatcherAssert.assertThat(searchIds("_", ItemSearchMode.SUBSTRING), Matchers.empty());
+    }
+
+    @Test
+    void searchBySimilarityTest() {
+        MatcherAssert.assertThat(searchIds("отвертк", ItemSearchMode.SIMILAR), Matchers.hasItem(screwdriver.getId()));
+        MatcherAssert.assertThat(searchIds("отвертк", ItemSearchMode.SIMILAR), Matchers.not(Matchers.hasItem(unavailableDrill.getId())));
+    }
+
+    @Test
+    void searchAfterCursorTest() {
+        List<ItemSearchHit> firstPage = itemSearchIndex.search("дрель", ItemSearchMode.TEXT, null, 0, 1);
+        List<ItemSearchHit> secondPage = itemSearchIndex.search("дрель", ItemSearchMode.TEXT, ItemSearchCursor.of(firstPage.getLast()), 0, 1);
+
+        MatcherAssert.assertThat(firstPage.stream().map(ItemSearchHit::getId).toList(), Matchers.contains(drill.getId()));
+        MatcherAssert.assertThat(secondPage.stream().map(ItemSearchHit::getId).toList(), Matchers.contains(screwdriver.getId()));
+    }
+
+    //region Facilities
+
+    /**
+     * Создать вещь.
+     *
+     * @param owner       владелец вещи.
+     * @param name        наименование вещи.
+     * @param description описание вещи.
+     * @param available   признак доступности вещи для бронирования.
+     * @return вещь.
+     */
+    private Item createItem(User owner, String name, String description, boolean available) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+
+    /**
+     * Найти идентификаторы доступных вещей.
+     *
+     * @param text текст для поиска.
+     * @param mode режим поиска.
+     * @return идентификаторы найденных вещей в порядке релевантности.
+     */
+    private List<Long> searchIds(String text, ItemSearchMode mode) {
+        return itemSearchIndex.search(text, mode, null, 0, 10).stream().map(ItemSearchHit::getId).toList();
+    }
+
+    //endregion
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
@@ -11,23 +13,47 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.CommentException;
+import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.generator.StringGenerator;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.AvailabilityInterval;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemAvailability;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.model.ItemSearchCursor;
+import ru.practicum.shareit.item.model.ItemSearchMode;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * Тесты сервиса для работы с вещами.
@@ -48,6 +74,16 @@ public class ItemServiceTest {
      */
     private final ItemService itemService;
 
+    /**
+     * Реестр метрик.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Сервисы для работы с пользователями.
      */
@@ -115,6 +151,156 @@ public class ItemServiceTest {
         MatcherAssert.assertThat(userItems.size(), Matchers.equalTo(5));
     }
 
+    @Test
+    void getUserItemsWithBookingDatesTest() {
+        User booker = User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+        userService.createUser(booker);
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        createBooking(booker, now.minusDays(10), now.minusDays(5));
+        createBooking(booker, now.minusDays(1), now.plusDays(1));
+        createBooking(booker, now.plusDays(5), now.plusDays(6));
+        createBooking(booker, now.plusDays(2), now.plusDays(3));
+
+        Item otherItem = Item.builder()
+                .name(StringGenerator.generateItemName())
+                .description(StringGenerator.generateItemDescription())
+                .available(true)
+                .owner(user)
+                .build();
+        itemService.createItem(otherItem);
+
+        Collection<ExtendedItemDto> userItems = itemService.getUserItems(user.getId());
+        MatcherAssert.assertThat(userItems.size(), Matchers.equalTo(2));
+
+        ExtendedItemDto bookedItem = userItems.stream().filter(i -> i.getId() == item.getId()).findFirst().orElseThrow();
+        MatcherAssert.assertThat(bookedItem.getLastBooking(), Matchers.equalTo(now.plusDays(1)));
+        MatcherAssert.assertThat(bookedItem.getNextBooking(), Matchers.equalTo(now.plusDays(2)));
+
+        ExtendedItemDto unbookedItem = userItems.stream().filter(i -> i.getId() == otherItem.getId()).findFirst().orElseThrow();
+        MatcherAssert.assertThat(unbookedItem.getLastBooking(), Matchers.nullValue());
+        MatcherAssert.assertThat(unbookedItem.getNextBooking(), Matchers.nullValue());
+    }
+
+    @Test
+    void getItemByIdWithBookingAddedAfterReadTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        ExtendedItemDto itemDto = itemService.getItemById(item.getId());
+        MatcherAssert.assertThat(itemDto.getNextBooking(), Matchers.nullValue());
+
+        createBooking(user, now.plusDays(2), now.plusDays(3));
+
+        itemDto = itemService.getItemById(item.getId());
+        MatcherAssert.assertThat(itemDto.getNextBooking(), Matchers.equalTo(now.plusDays(2)));
+    }
+
+    @Test
+    void getItemByIdWithStaleBookingSummaryTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        createBooking(user, now.plusDays(2), now.plusDays(3));
+
+        entityManager.persist(ItemBookingSummary.builder()
+                .itemId(item.getId())
+                .nextBooking(now.minusDays(1))
+                .validUntil(now.minusDays(1))
+                .build());
+
+        ExtendedItemDto itemDto = itemService.getItemById(item.getId());
+        MatcherAssert.assertThat(itemDto.getNextBooking(), Matchers.equalTo(now.plusDays(2)));
+    }
+
+    @Test
+    void getUserItemsWithoutBookingSummariesStatementCountTest() {
+        User otherUser = User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+        userService.createUser(otherUser);
+
+        for (int i = 0; i < 3; i++) {
+            itemService.createItem(Item.builder()
+                    .name(StringGenerator.generateItemName())
+                    .description(StringGenerator.generateItemDescription())
+                    .available(true)
+                    .owner(otherUser)
+                    .build());
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // Сводки обеих выборок отсутствуют, поэтому их сохранение не должно добавлять запросов на каждую вещь.
+        statistics.clear();
+        itemService.getUserItems(user.getId());
+        long singleItemStatementCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        itemService.getUserItems(otherUser.getId());
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(singleItemStatementCount));
+        MatcherAssert.assertThat(statistics.getEntityStatistics(ItemBookingSummary.class.getName()).getLoadCount(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    void getItemByIdAfterBookerDeletedTest() {
+        User booker = User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+        userService.createUser(booker);
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        createBooking(booker, now.plusDays(2), now.plusDays(3));
+
+        ExtendedItemDto itemDto = itemService.getItemById(item.getId());
+        MatcherAssert.assertThat(itemDto.getNextBooking(), Matchers.equalTo(now.plusDays(2)));
+
+        userService.deleteUser(booker.getId());
+        // Брони удаляются каскадно в базе данных, когда удаление пользователя сбрасывается в неё.
+        entityManager.flush();
+
+        itemDto = itemService.getItemById(item.getId());
+        MatcherAssert.assertThat(itemDto.getNextBooking(), Matchers.nullValue());
+    }
+
+    @Test
+    void concurrentGetItemByIdWithoutBookingSummaryTest() throws Exception {
+        // Потоки видят только зафиксированные данные, поэтому вещь создается в отдельной транзакции.
+        User owner = createCommittedUser();
+
+        try {
+            Item ownerItem = createCommittedItem(owner, StringGenerator.generateItemName(), StringGenerator.generateItemDescription());
+
+            for (int round = 0; round < 5; round++) {
+                inNewTransaction(() -> entityManager.createNativeQuery("DELETE FROM item_booking_summaries WHERE item_id = :itemId")
+                        .setParameter("itemId", ownerItem.getId())
+                        .executeUpdate());
+
+                // Оба чтения пересчитывают отсутствующую сводку и пытаются её сохранить.
+                CountDownLatch startLatch = new CountDownLatch(1);
+                try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+                    List<Future<ExtendedItemDto>> futures = new ArrayList<>();
+                    for (int i = 0; i < 2; i++) {
+                        futures.add(executor.submit(() -> {
+                            startLatch.await();
+                            return itemService.getItemById(ownerItem.getId());
+                        }));
+                    }
+                    startLatch.countDown();
+
+                    for (Future<ExtendedItemDto> future : futures) {
+                        MatcherAssert.assertThat(future.get().getId(), Matchers.equalTo(ownerItem.getId()));
+                    }
+                }
+            }
+        } finally {
+            deleteCommittedUser(owner);
+        }
+    }
+
     @Test
     void getNonExistentUserItemsTest() {
         Assertions.assertThrows(NotFoundException.class, () -> itemService.getUserItems(Long.MAX_VALUE));
@@ -167,7 +353,7 @@ public class ItemServiceTest {
             itemService.createItem(otherItem);
         }
 
-        Collection<Item> items = itemService.search("ABCDEF");
+        Collection<Item> items = itemService.search("ABCDEF", ItemSearchMode.SUBSTRING, 0, 10, null).getContent();
         MatcherAssert.assertThat(items.size(), Matchers.equalTo(3));
     }
 
@@ -176,7 +362,7 @@ public class ItemServiceTest {
         for (int i = 0; i < 5; i++) {
             Item otherItem = Item.builder()
                     .name(StringGenerator.generateItemName())
-                    .description((i % 2) == 0 ? "ABCDEF" : "GHIJKL")
+                    .description((i % 2) == 0 ? "MNOPQR" : "STUVWX")
                     .available(true)
                     .owner(user)
                     .build();
@@ -184,19 +370,179 @@ public class ItemServiceTest {
             itemService.createItem(otherItem);
         }
 
-        Collection<Item> items = itemService.search("ABCDEF");
+        Collection<Item> items = itemService.search("MNOPQR", ItemSearchMode.SUBSTRING, 0, 10, null).getContent();
         MatcherAssert.assertThat(items.size(), Matchers.equalTo(3));
     }
 
+    @Test
+    void searchByTextTest() {
+        createItem("Дрель аккумуляторная", StringGenerator.generateItemDescription(), true);
+        createItem("Ударная дрель", StringGenerator.generateItemDescription(), true);
+        createItem("Отвертка", StringGenerator.generateItemDescription(), true);
+
+        Collection<Item> items = itemService.search("дрел", ItemSearchMode.TEXT, 0, 10, null).getContent();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void searchBySubstringTest() {
+        createItem("Дрель аккумуляторная", StringGenerator.generateItemDescription(), true);
+        createItem(StringGenerator.generateItemName(), "Шуруповерт аккумуляторный", true);
+        createItem("Отвертка", StringGenerator.generateItemDescription(), true);
+
+        Collection<Item> items = itemService.search("кумулятор", ItemSearchMode.SUBSTRING, 0, 10, null).getContent();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(2));
+
+        items = itemService.search("ь аккум", ItemSearchMode.SUBSTRING, 0, 10, null).getContent();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void searchBySimilarityTest() {
+        createItem("Дрель аккумуляторная", StringGenerator.generateItemDescription(), true);
+        createItem("Отвертка", StringGenerator.generateItemDescription(), true);
+
+        Collection<Item> items = itemService.search("акумуляторная", ItemSearchMode.SIMILAR, 0, 10, null).getContent();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(1));
+
+        items = itemService.search("акумуляторная", ItemSearchMode.SUBSTRING, 0, 10, null).getContent();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void searchRanksNameAboveDescriptionTest() {
+        Item descriptionMatch = createItem(StringGenerator.generateItemName(), "Полный комплект qzxrank", true);
+        Item nameMatch = createItem("Набор qzxrank", StringGenerator.generateItemDescription(), true);
+
+        List<Item> items = itemService.search("qzxrank", ItemSearchMode.TEXT, 0, 10, null).getContent();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(items.get(0).getId(), Matchers.equalTo(nameMatch.getId()));
+        MatcherAssert.assertThat(items.get(1).getId(), Matchers.equalTo(descriptionMatch.getId()));
+    }
+
+    @Test
+    void searchPageTest() {
+        for (int i = 0; i < 5; i++) {
+            createItem("qzxpage " + i, StringGenerator.generateItemDescription(), true);
+        }
+
+        Collection<Item> items = itemService.search("qzxpage", ItemSearchMode.TEXT, 3, 10, null).getContent();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void searchByCursorTest() {
+        for (int i = 0; i < 5; i++) {
+            createItem("qzxcursor " + i, StringGenerator.generateItemDescription(), true);
+            createItem(StringGenerator.generateItemName(), "qzxcursor " + i, true);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        ItemSearchCursor after = null;
+        do {
+            Window<Item> page = itemService.search("qzxcursor", ItemSearchMode.SUBSTRING, 0, 3, after);
+            page.getContent().forEach(i -> ids.add(i.getId()));
+            after = page.hasNext() ? ItemSearchCursor.of((KeysetScrollPosition) page.positionAt(page.size() - 1)) : null;
+        } while (after != null);
+
+        MatcherAssert.assertThat(ids.size(), Matchers.equalTo(10));
+        MatcherAssert.assertThat(Set.copyOf(ids).size(), Matchers.equalTo(10));
+    }
+
+    @Test
+    void streamSearchTest() {
+        for (int i = 0; i < 3; i++) {
+            createItem("qzxstream " + i, StringGenerator.generateItemDescription(), true);
+        }
+        createItem("qzxstream", StringGenerator.generateItemDescription(), false);
+
+        List<Item> items = new ArrayList<>();
+        itemService.streamSearch("QZXSTREAM", items::add);
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(3));
+    }
+
+    @Test
+    void streamSearchWithLikeWildcardsTest() {
+        Item percentItem = createItem("qzxwild 50%", StringGenerator.generateItemDescription(), true);
+        Item underscoreItem = createItem("qzxwild a_b", StringGenerator.generateItemDescription(), true);
+        createItem("qzxwild 500", StringGenerator.generateItemDescription(), true);
+        createItem("qzxwild acb", StringGenerator.generateItemDescription(), true);
+
+        List<Item> items = new ArrayList<>();
+        itemService.streamSearch("qzxwild 50%", items::add);
+        MatcherAssert.assertThat(items.stream().map(Item::getId).toList(), Matchers.contains(percentItem.getId()));
+
+        items.clear();
+        itemService.streamSearch("qzxwild a_b", items::add);
+        MatcherAssert.assertThat(items.stream().map(Item::getId).toList(), Matchers.contains(underscoreItem.getId()));
+    }
+
+    @Test
+    void searchCacheTest() {
+        // Результаты поиска удаляются из кэша после фиксации транзакции, поэтому данные создаются в отдельных транзакциях.
+        User owner = createCommittedUser();
+
+        try {
+            Item firstItem = createCommittedItem(owner, "qzxcache первая", StringGenerator.generateItemDescription());
+            MatcherAssert.assertThat(itemService.search("qzxcache", ItemSearchMode.TEXT, 0, 10, null).getContent().size(), Matchers.equalTo(1));
+
+            double hits = meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit").functionCounter().count();
+            MatcherAssert.assertThat(itemService.search(" QZXCACHE ", ItemSearchMode.TEXT, 0, 10, null).getContent().size(), Matchers.equalTo(1));
+            MatcherAssert.assertThat(meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit").functionCounter().count(), Matchers.equalTo(hits + 1));
+
+            createCommittedItem(owner, StringGenerator.generateItemName(), "qzxcache вторая");
+            MatcherAssert.assertThat(itemService.search("qzxcache", ItemSearchMode.TEXT, 0, 10, null).getContent().size(), Matchers.equalTo(2));
+
+            inNewTransaction(() -> itemService.updateItem(Item.builder().id(firstItem.getId()).owner(owner).name(StringGenerator.generateItemName()).build()));
+            MatcherAssert.assertThat(itemService.search("qzxcache", ItemSearchMode.TEXT, 0, 10, null).getContent().size(), Matchers.equalTo(1));
+        } finally {
+            deleteCommittedUser(owner);
+        }
+    }
+
+    @Test
+    void searchCacheEvictsAllPagesTest() {
+        User owner = createCommittedUser();
+
+        try {
+            createCommittedItem(owner, "qzxpages первая", StringGenerator.generateItemDescription());
+            createCommittedItem(owner, "qzxpages вторая", StringGenerator.generateItemDescription());
+
+            Item firstPageItem = itemService.search("qzxpages", ItemSearchMode.SUBSTRING, 0, 1, null).getContent().getFirst();
+            MatcherAssert.assertThat(itemService.search("qzxpages", ItemSearchMode.SUBSTRING, 1, 1, null).getContent().size(), Matchers.equalTo(1));
+
+            // Вещь первой страницы перестает соответствовать запросу, поэтому вторая страница должна опустеть.
+            inNewTransaction(() -> itemService.updateItem(Item.builder().id(firstPageItem.getId()).owner(owner).name(StringGenerator.generateItemName()).build()));
+            MatcherAssert.assertThat(itemService.search("qzxpages", ItemSearchMode.SUBSTRING, 1, 1, null).getContent(), Matchers.empty());
+        } finally {
+            deleteCommittedUser(owner);
+        }
+    }
+
+    @Test
+    void searchUnavailableItemTest() {
+        User owner = createCommittedUser();
+
+        try {
+            Item searchedItem = createCommittedItem(owner, "qzxavailable", StringGenerator.generateItemDescription());
+            MatcherAssert.assertThat(itemService.search("qzxavailable", ItemSearchMode.SUBSTRING, 0, 10, null).getContent().size(), Matchers.equalTo(1));
+
+            inNewTransaction(() -> itemService.updateItem(Item.builder().id(searchedItem.getId()).owner(owner).available(false).build()));
+            MatcherAssert.assertThat(itemService.search("qzxavailable", ItemSearchMode.SUBSTRING, 0, 10, null).getContent().size(), Matchers.equalTo(0));
+        } finally {
+            deleteCommittedUser(owner);
+        }
+    }
+
     @Test
     void searchByNullTest() {
-        Collection<Item> items = itemService.search(null);
+        Collection<Item> items = itemService.search(null, ItemSearchMode.SUBSTRING, 0, 10, null).getContent();
         MatcherAssert.assertThat(items.size(), Matchers.equalTo(0));
     }
 
     @Test
     void searchByBlankTextTest() {
-        Collection<Item> items = itemService.search("   ");
+        Collection<Item> items = itemService.search("   ", ItemSearchMode.SUBSTRING, 0, 10, null).getContent();
         MatcherAssert.assertThat(items.size(), Matchers.equalTo(0));
     }
 
@@ -290,6 +636,58 @@ public class ItemServiceTest {
         MatcherAssert.assertThat(itemFromDb.getOwner().getId(), Matchers.equalTo(item.getOwner().getId()));
     }
 
+    @Test
+    void concurrentUpdateItemTest() throws Exception {
+        // Потоки видят только зафиксированные данные, поэтому вещь создается в отдельной транзакции.
+        User owner = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+
+        try {
+            Item ownerItem = inNewTransaction(() -> itemService.createItem(Item.builder()
+                    .name(StringGenerator.generateItemName())
+                    .description(StringGenerator.generateItemDescription())
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+
+            for (int round = 0; round < 5; round++) {
+                String name = StringGenerator.generateItemName();
+                String description = StringGenerator.generateItemDescription();
+                CountDownLatch startLatch = new CountDownLatch(1);
+
+                // Одно обновление меняет название, другое - описание; ни одно из изменений не должно потеряться.
+                try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+                    List<Future<Item>> futures = List.of(
+                            executor.submit(() -> {
+                                startLatch.await();
+                                return itemService.updateItem(Item.builder().id(ownerItem.getId()).name(name).owner(owner).build());
+                            }),
+                            executor.submit(() -> {
+                                startLatch.await();
+                                return itemService.updateItem(Item.builder().id(ownerItem.getId()).description(description).owner(owner).build());
+                            }));
+
+                    startLatch.countDown();
+                    for (Future<Item> future : futures) {
+                        future.get();
+                    }
+                }
+
+                Item itemFromDb = inNewTransaction(() -> itemService.getItemById(ownerItem.getId(), owner.getId()));
+                MatcherAssert.assertThat(itemFromDb.getName(), Matchers.equalTo(name));
+                MatcherAssert.assertThat(itemFromDb.getDescription(), Matchers.equalTo(description));
+                MatcherAssert.assertThat(itemFromDb.getVersion(), Matchers.equalTo(ownerItem.getVersion() + 2L * (round + 1)));
+            }
+        } finally {
+            inNewTransaction(() -> {
+                userService.deleteUser(owner.getId());
+                return null;
+            });
+        }
+    }
+
     @Test
     void addCommentToItemTest() {
         Booking booking = Booking.builder()
@@ -300,6 +698,7 @@ public class ItemServiceTest {
                 .status(BookingStatus.WAITING)
                 .build();
         bookingService.createBooking(booking);
+        bookingService.approveBooking(booking.getId(), user.getId(), true);
 
         Comment comment = Comment.builder()
                 .text(StringGenerator.generateCommentText())
@@ -312,6 +711,282 @@ public class ItemServiceTest {
         MatcherAssert.assertThat(comment.getId(), Matchers.notNullValue());
     }
 
+    @Test
+    void addCommentEvictsOnlyCommentedItemTest() {
+        // Кэш второго уровня заполняется при чтении зафиксированных данных, поэтому данные создаются в отдельных транзакциях.
+        User owner = createCommittedUser();
+
+        try {
+            Item commentedItem = createCommittedItem(owner, StringGenerator.generateItemName(), StringGenerator.generateItemDescription());
+            Item otherItem = createCommittedItem(owner, StringGenerator.generateItemName(), StringGenerator.generateItemDescription());
+
+            Booking booking = inNewTransaction(() -> bookingService.createBooking(Booking.builder()
+                    .item(commentedItem)
+                    .booker(owner)
+                    .start(LocalDateTime.now().minusDays(3))
+                    .end(LocalDateTime.now().minusDays(1))
+                    .status(BookingStatus.WAITING)
+                    .build()));
+            inNewTransaction(() -> bookingService.approveBooking(booking.getId(), owner.getId(), true));
+
+            inNewTransaction(() -> itemService.getItemById(commentedItem.getId()));
+            inNewTransaction(() -> itemService.getItemById(otherItem.getId()));
+
+            Cache cache = entityManager.getEntityManagerFactory().getCache();
+            MatcherAssert.assertThat(cache.contains(Item.class, otherItem.getId()), Matchers.is(true));
+
+            inNewTransaction(() -> itemService.addCommentToItem(Comment.builder()
+                    .text(StringGenerator.generateCommentText())
+                    .author(owner)
+                    .item(commentedItem)
+                    .created(LocalDateTime.now())
+                    .build()));
+
+            MatcherAssert.assertThat(cache.contains(Item.class, commentedItem.getId()), Matchers.is(false));
+            MatcherAssert.assertThat(cache.contains(Item.class, otherItem.getId()), Matchers.is(true));
+            MatcherAssert.assertThat(inNewTransaction(() -> itemService.getItemById(commentedItem.getId(), owner.getId())).getCommentCount(), Matchers.equalTo(1L));
+        } finally {
+            deleteCommittedUser(owner);
+        }
+    }
+
+    @Test
+    void deleteOwnerEvictsCachedItemTest() {
+        // Кэш второго уровня заполняется при чтении зафиксированных данных, поэтому данные создаются в отдельной транзакции.
+        User owner = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+        Item ownerItem = inNewTransaction(() -> itemService.createItem(Item.builder()
+                .name(StringGenerator.generateItemName())
+                .description(StringGenerator.generateItemDescription())
+                .available(true)
+                .owner(owner)
+                .build()));
+        inNewTransaction(() -> itemService.getItemById(ownerItem.getId()));
+
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        MatcherAssert.assertThat(cache.contains(Item.class, ownerItem.getId()), Matchers.is(true));
+
+        inNewTransaction(() -> {
+            userService.deleteUser(owner.getId());
+            return null;
+        });
+        MatcherAssert.assertThat(cache.contains(Item.class, ownerItem.getId()), Matchers.is(false));
+    }
+
+    @Test
+    void getItemWithCommentsTest() {
+        createBooking(user, LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(1));
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            comments.add(addComment(LocalDateTime.now().minusHours(12 - i)));
+        }
+
+        ExtendedItemDto itemDto = itemService.getItemById(item.getId());
+        MatcherAssert.assertThat(itemDto.getCommentCount(), Matchers.equalTo(12L));
+        MatcherAssert.assertThat(itemDto.getComments().size(), Matchers.equalTo(10));
+        MatcherAssert.assertThat(itemDto.getComments().iterator().next(), Matchers.equalTo(comments.getLast().getText()));
+
+        ExtendedItemDto userItemDto = itemService.getUserItems(user.getId()).iterator().next();
+        MatcherAssert.assertThat(userItemDto.getCommentCount(), Matchers.equalTo(12L));
+        MatcherAssert.assertThat(userItemDto.getComments(), Matchers.equalTo(itemDto.getComments()));
+    }
+
+    @Test
+    void getItemCommentsTest() {
+        createBooking(user, LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(1));
+
+        List<Long> commentIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            commentIds.addFirst(addComment(LocalDateTime.now().minusHours(5 - i)).getId());
+        }
+
+        Window<Comment> firstPage = itemService.getItemComments(item.getId(), 0, 2, null);
+        MatcherAssert.assertThat(firstPage.getContent().stream().map(Comment::getId).toList(), Matchers.equalTo(commentIds.subList(0, 2)));
+        MatcherAssert.assertThat(firstPage.hasNext(), Matchers.is(true));
+
+        Window<Comment> nextPage = itemService.getItemComments(item.getId(), 0, 2, TimestampCursor.of(firstPage.getContent().getLast().getCreated(), firstPage.getContent().getLast().getId()));
+        MatcherAssert.assertThat(nextPage.getContent().stream().map(Comment::getId).toList(), Matchers.equalTo(commentIds.subList(2, 4)));
+
+        Window<Comment> offsetPage = itemService.getItemComments(item.getId(), 4, 2, null);
+        MatcherAssert.assertThat(offsetPage.getContent().stream().map(Comment::getId).toList(), Matchers.equalTo(commentIds.subList(4, 5)));
+        MatcherAssert.assertThat(offsetPage.hasNext(), Matchers.is(false));
+    }
+
+    @Test
+    void getNonExistentItemCommentsTest() {
+        Assertions.assertThrows(NotFoundException.class, () -> itemService.getItemComments(Long.MAX_VALUE, 0, 10, null));
+    }
+
+    @Test
+    void getItemAvailabilityTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        createBooking(user, now.minusDays(1), now.plusDays(1));
+        createBooking(user, now.plusDays(1), now.plusDays(2));
+        createBooking(user, now.plusDays(5), now.plusDays(6));
+        createBooking(user, now.plusDays(9), now.plusDays(12));
+        bookingService.createBooking(Booking.builder()
+                .item(item)
+                .booker(user)
+                .start(now.plusDays(3))
+                .end(now.plusDays(4))
+                .status(BookingStatus.WAITING)
+                .build());
+
+        ItemAvailability availability = itemService.getItemAvailability(item.getId(), now, now.plusDays(10));
+
+        // Примыкающие брони объединяются, неподтвержденная бронь период не занимает.
+        MatcherAssert.assertThat(availability.getBusy(), Matchers.contains(
+                interval(now, now.plusDays(2)),
+                interval(now.plusDays(5), now.plusDays(6)),
+                interval(now.plusDays(9), now.plusDays(10))));
+        MatcherAssert.assertThat(availability.getFree(), Matchers.contains(
+                interval(now.plusDays(2), now.plusDays(5)),
+                interval(now.plusDays(6), now.plusDays(9))));
+    }
+
+    @Test
+    void getItemAvailabilityWithoutBookingsTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        ItemAvailability availability = itemService.getItemAvailability(item.getId(), now, now.plusDays(1));
+        MatcherAssert.assertThat(availability.getBusy(), Matchers.empty());
+        MatcherAssert.assertThat(availability.getFree(), Matchers.contains(interval(now, now.plusDays(1))));
+
+    }
+
+    @Test
+    void getItemAvailabilityWithInvalidPeriodTest() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        Assertions.assertThrows(ItemAvailabilityException.class, () -> itemService.getItemAvailability(item.getId(), now, now));
+        Assertions.assertThrows(ItemAvailabilityException.class, () -> itemService.getItemAvailability(item.getId(), now, now.minusDays(1)));
+    }
+
+    @Test
+    void getItemAvailabilityAfterApproveTest() {
+        // Календари удаляются из кэша после фиксации транзакции, поэтому данные создаются в отдельных транзакциях.
+        User owner = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+
+        try {
+            Item ownerItem = inNewTransaction(() -> itemService.createItem(Item.builder()
+                    .name(StringGenerator.generateItemName())
+                    .description(StringGenerator.generateItemDescription())
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            Booking booking = inNewTransaction(() -> bookingService.createBooking(Booking.builder()
+                    .item(ownerItem)
+                    .booker(owner)
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .status(BookingStatus.WAITING)
+                    .build()));
+
+            ItemAvailability availability = inNewTransaction(() -> itemService.getItemAvailability(ownerItem.getId(), now, now.plusDays(3)));
+            MatcherAssert.assertThat(availability.getBusy(), Matchers.empty());
+
+            inNewTransaction(() -> bookingService.approveBooking(booking.getId(), owner.getId(), true));
+
+            availability = inNewTransaction(() -> itemService.getItemAvailability(ownerItem.getId(), now, now.plusDays(3)));
+            MatcherAssert.assertThat(availability.getBusy(), Matchers.contains(interval(now.plusDays(1), now.plusDays(2))));
+        } finally {
+            inNewTransaction(() -> {
+                userService.deleteUser(owner.getId());
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void getNonExistentItemAvailabilityTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Assertions.assertThrows(NotFoundException.class, () -> itemService.getItemAvailability(Long.MAX_VALUE, now, now.plusDays(1)));
+    }
+
+    @Test
+    void searchStatementCountTest() {
+        for (int i = 0; i < 5; i++) {
+            Item commentedItem = createItem("qzxcomments " + i, StringGenerator.generateItemDescription(), true);
+            entityManager.persist(Comment.builder()
+                    .text(StringGenerator.generateCommentText())
+                    .author(user)
+                    .item(commentedItem)
+                    .created(LocalDateTime.now())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Collection<ItemDto> items = ItemMapper.mapToItemDtoCollection(itemService.search("qzxcomments", ItemSearchMode.TEXT, 0, 10, null).getContent());
+
+        statistics.setStatisticsEnabled(false);
+
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(5));
+        MatcherAssert.assertThat(statistics.getCollectionFetchCount(), Matchers.equalTo(0L));
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(2L));
+    }
+
+    @Test
+    void addCommentWithUnapprovedBookingTest() {
+        Booking booking = Booking.builder()
+                .item(item)
+                .booker(user)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(1))
+                .status(BookingStatus.WAITING)
+                .build();
+        bookingService.createBooking(booking);
+        bookingService.approveBooking(booking.getId(), user.getId(), false);
+
+        Comment comment = Comment.builder()
+                .text(StringGenerator.generateCommentText())
+                .author(user)
+                .item(item)
+                .created(LocalDateTime.now())
+                .build();
+
+        Assertions.assertThrows(CommentException.class, () -> itemService.addCommentToItem(comment));
+    }
+
+    @Test
+    void addCommentStatementCountTest() {
+        for (int i = 0; i < 500; i++) {
+            entityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(user)
+                    .start(LocalDateTime.now().minusDays(i + 2))
+                    .end(LocalDateTime.now().minusDays(i + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        addComment(LocalDateTime.now());
+
+        statistics.setStatisticsEnabled(false);
+
+        // Количество запросов не зависит от количества броней автора.
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(5L));
+        MatcherAssert.assertThat(statistics.getEntityLoadCount(), Matchers.lessThanOrEqualTo(3L));
+    }
+
     @Test
     void addCommentToUnbookedItemTest() {
         Item otherItem = Item.builder()
@@ -352,4 +1027,125 @@ public class ItemServiceTest {
 
         Assertions.assertThrows(CommentException.class, () -> itemService.addCommentToItem(comment));
     }
+
+    //region Facilities
+
+    /**
+     * Выполнить действие в отдельной транзакции, которая фиксируется независимо от транзакции теста.
+     *
+     * @param action действие.
+     * @param <T>    тип результата действия.
+     * @return результат действия.
+     */
+    private <T> T inNewTransaction(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    /**
+     * Создать пользователя в отдельной транзакции.
+     *
+     * @return пользователь.
+     */
+    private User createCommittedUser() {
+        return inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+    }
+
+    /**
+     * Удалить пользователя, созданного в отдельной транзакции, вместе с его вещами.
+     *
+     * @param owner пользователь.
+     */
+    private void deleteCommittedUser(User owner) {
+        inNewTransaction(() -> {
+            userService.deleteUser(owner.getId());
+            return null;
+        });
+    }
+
+    /**
+     * Создать доступную вещь в отдельной транзакции.
+     *
+     * @param owner       владелец вещи.
+     * @param name        название вещи.
+     * @param description описание вещи.
+     * @return вещь.
+     */
+    private Item createCommittedItem(User owner, String name, String description) {
+        return inNewTransaction(() -> itemService.createItem(Item.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .owner(owner)
+                .build()));
+    }
+
+    /**
+     * Добавить комментарий пользователя к вещи.
+     *
+     * @param created дата создания комментария.
+     * @return комментарий.
+     */
+    private Comment addComment(LocalDateTime created) {
+        Comment comment = Comment.builder()
+                .text(StringGenerator.generateCommentText())
+                .author(user)
+                .item(item)
+                .created(created)
+                .build();
+        return itemService.addCommentToItem(comment);
+    }
+
+    /**
+     * Создать вещь пользователя.
+     *
+     * @param name        название вещи.
+     * @param description описание вещи.
+     * @param available   признак доступности вещи для аренды.
+     * @return вещь.
+     */
+    private Item createItem(String name, String description, boolean available) {
+        Item newItem = Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(user)
+                .build();
+        return itemService.createItem(newItem);
+    }
+
+    /**
+     * Создать бронь вещи.
+     *
+     * @param booker пользователь, осуществляющий бронь.
+     * @param start  дата начала бронирования.
+     * @param end    дата окончания бронирования.
+     */
+    private void createBooking(User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .build();
+        bookingService.createBooking(booking);
+    }
+
+    /**
+     * Создать интервал календаря доступности.
+     *
+     * @param start начало интервала.
+     * @param end   окончание интервала.
+     * @return интервал.
+     */
+    private static AvailabilityInterval interval(LocalDateTime start, LocalDateTime end) {
+        return AvailabilityInterval.builder().start(start).end(end).build();
+    }
+
+    //endregion
 }
@@ -7,16 +7,24 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.pagination.CursorPageResponses;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestMatch;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -68,7 +76,7 @@ public final class ItemRequestControllerTest {
     @Test
     void getUserRequestsTest() throws Exception {
         Mockito.when(requestService.getUserItemRequests(Mockito.anyLong()))
-                .thenReturn(List.of(request));
+                .thenReturn(List.of(requestWithItemsDto));
 
         mvc.perform(MockMvcRequestBuilders.get("/requests")
                         .header("X-Sharer-User-Id", 1)
@@ -76,18 +84,26 @@ public final class ItemRequestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(1L), Long.class))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[0].description", Matchers.is(request.getDescription())));
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].description", Matchers.is(request.getDescription())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].items", Matchers.hasSize(0)));
     }
 
     @Test
     void getOtherUsersItemRequestsTest() throws Exception {
-        Mockito.when(requestService.getOtherUsersItemRequests(Mockito.anyLong()))
-                .thenReturn(List.of(request));
+        ItemRequest requestWithCreated = request.toBuilder()
+                .created(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+
+        Mockito.when(requestService.getOtherUsersItemRequests(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
+                .thenReturn(Window.from(List.of(requestWithCreated), ScrollPosition::offset, true));
 
         mvc.perform(MockMvcRequestBuilders.get("/requests/all")
                         .header("X-Sharer-User-Id", 1)
+                        .param("size", "1")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(CursorPageResponses.NEXT_CURSOR_HEADER,
+                        TimestampCursor.of(requestWithCreated.getCreated(), requestWithCreated.getId()).toToken()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(1L), Long.class))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].description", Matchers.is(request.getDescription())));
@@ -106,4 +122,110 @@ public final class ItemRequestControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.description", Matchers.is(request.getDescription())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.items", Matchers.hasSize(0)));
     }
+
+    @Test
+    void getRequesterSuggestionsTest() throws Exception {
+        ItemRequestMatch match = Mockito.mock(ItemRequestMatch.class);
+        Mockito.when(match.getId()).thenReturn(5L);
+        Mockito.when(match.getRequestId()).thenReturn(1L);
+        Mockito.when(match.getRequestDescription()).thenReturn(request.getDescription());
+        Mockito.when(match.getItemId()).thenReturn(2L);
+        Mockito.when(match.getItemName()).thenReturn("Дрель");
+
+        Mockito.when(requestService.getRequesterSuggestions(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(match));
+
+        mvc.perform(MockMvcRequestBuilders.get("/requests/suggestions")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(5L), Long.class))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].requestId", Matchers.is(1L), Long.class))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].itemId", Matchers.is(2L), Long.class))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].itemName", Matchers.is("Дрель")));
+    }
+
+    @Test
+    void getNewItemRequestsTest() throws Exception {
+        Mockito.when(requestService.getLatestOtherUsersItemRequestId(1L))
+                .thenReturn(7L);
+        Mockito.when(requestService.getNewItemRequests(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyLong()))
+                .thenReturn(Window.from(List.of(request), ScrollPosition::offset));
+
+        mvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("since", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0-10-7\""))
+                .andExpect(MockMvcResultMatchers.header().string(ItemRequestController.LAST_ID_HEADER, "1"))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(CursorPageResponses.NEXT_CURSOR_HEADER))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.is(1L), Long.class));
+    }
+
+    @Test
+    void getTruncatedNewItemRequestsTest() throws Exception {
+        Mockito.when(requestService.getLatestOtherUsersItemRequestId(1L))
+                .thenReturn(7L);
+        Mockito.when(requestService.getNewItemRequests(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyLong()))
+                .thenReturn(Window.from(List.of(request), ScrollPosition::offset, true));
+
+        mvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("since", "0")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.header().string(ItemRequestController.LAST_ID_HEADER, "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)));
+    }
+
+    @Test
+    void getNotModifiedNewItemRequestsTest() throws Exception {
+        Mockito.when(requestService.getLatestOtherUsersItemRequestId(1L))
+                .thenReturn(7L);
+
+        mvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0-10-7\"")
+                        .param("since", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0-10-7\""));
+
+        Mockito.verify(requestService, Mockito.never()).getNewItemRequests(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyLong());
+    }
+
+    @Test
+    void getNewItemRequestsWithChangedSinceTest() throws Exception {
+        Mockito.when(requestService.getLatestOtherUsersItemRequestId(1L))
+                .thenReturn(7L);
+        Mockito.when(requestService.getNewItemRequests(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyLong()))
+                .thenReturn(Window.from(List.of(request), ScrollPosition::offset));
+
+        mvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"5-10-7\"")
+                        .param("since", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0-10-7\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)));
+    }
+
+    @Test
+    void getNewItemRequestsForNonExistentUserTest() throws Exception {
+        Mockito.when(requestService.getLatestOtherUsersItemRequestId(1L))
+                .thenThrow(new NotFoundException("Пользователь с id = 1 не найден"));
+
+        mvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0-10-7\"")
+                        .param("since", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
 }
@@ -10,17 +10,31 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.generator.StringGenerator;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.model.TimestampCursor;
 import ru.practicum.shareit.request.dto.ItemRequestWithItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestMatch;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Тесты сервиса для работы с запросами вещей.
@@ -36,6 +50,16 @@ public class ItemRequestServiceImplTest {
      */
     private final ItemRequestService itemRequestService;
 
+    /**
+     * Сервис для работы с вещами.
+     */
+    private final ItemService itemService;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Сервисы для работы с пользователями.
      */
@@ -91,8 +115,51 @@ public class ItemRequestServiceImplTest {
             itemRequestService.createItemRequest(otherItemRequest);
         }
 
-        Collection<ItemRequest> userItemRequests = itemRequestService.getUserItemRequests(user.getId());
+        Collection<ItemRequestWithItemsDto> userItemRequests = itemRequestService.getUserItemRequests(user.getId());
+        MatcherAssert.assertThat(userItemRequests.size(), Matchers.equalTo(5));
+    }
+
+    @Test
+    void getUserItemRequestsStatementCountTest() {
+        User owner = User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+        userService.createUser(owner);
+
+        for (int i = 0; i < 4; i++) {
+            ItemRequest otherItemRequest = ItemRequest.builder()
+                    .requester(user)
+                    .description(StringGenerator.generateItemRequestDescription())
+                    .created(LocalDateTime.now())
+                    .build();
+            itemRequestService.createItemRequest(otherItemRequest);
+
+            for (int j = 0; j < 2; j++) {
+                entityManager.persist(Item.builder()
+                        .name(StringGenerator.generateItemName())
+                        .description(StringGenerator.generateItemDescription())
+                        .available(true)
+                        .owner(owner)
+                        .request(otherItemRequest)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Collection<ItemRequestWithItemsDto> userItemRequests = itemRequestService.getUserItemRequests(user.getId());
+
+        statistics.setStatisticsEnabled(false);
+
         MatcherAssert.assertThat(userItemRequests.size(), Matchers.equalTo(5));
+        MatcherAssert.assertThat(userItemRequests.stream().mapToInt(request -> request.getItems().size()).sum(), Matchers.equalTo(8));
+        // Количество запросов не зависит от количества запросов вещей пользователя и вещей по ним.
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(2L));
     }
 
     @Test
@@ -117,10 +184,107 @@ public class ItemRequestServiceImplTest {
             itemRequestService.createItemRequest(otherItemRequest);
         }
 
-        Collection<ItemRequest> userItemRequests = itemRequestService.getOtherUsersItemRequests(user.getId());
+        Collection<ItemRequest> userItemRequests = itemRequestService.getOtherUsersItemRequests(user.getId(), 0, 10, null).getContent();
         MatcherAssert.assertThat(userItemRequests.size(), Matchers.equalTo(10));
     }
 
+    @Test
+    void getOtherUsersItemRequestsByCursorTest() {
+        User otherUser = User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+        userService.createUser(otherUser);
+
+        // Запросы из будущего заведомо новее всех остальных запросов в базе данных.
+        LocalDateTime created = LocalDateTime.now().plusYears(100).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ItemRequest otherItemRequest = ItemRequest.builder()
+                    .requester(otherUser)
+                    .description(StringGenerator.generateItemRequestDescription())
+                    .created(created.plusSeconds(i))
+                    .build();
+            expectedIds.addFirst(itemRequestService.createItemRequest(otherItemRequest).getId());
+        }
+
+        Window<ItemRequest> firstPage = itemRequestService.getOtherUsersItemRequests(user.getId(), 0, 3, null);
+        MatcherAssert.assertThat(firstPage.hasNext(), Matchers.is(true));
+
+        ItemRequest last = firstPage.getContent().getLast();
+        Window<ItemRequest> secondPage = itemRequestService.getOtherUsersItemRequests(user.getId(), 0, 3, TimestampCursor.of(last.getCreated(), last.getId()));
+
+        List<Long> ids = new ArrayList<>();
+        firstPage.forEach(request -> ids.add(request.getId()));
+        secondPage.forEach(request -> ids.add(request.getId()));
+
+        MatcherAssert.assertThat(ids.subList(0, expectedIds.size()), Matchers.equalTo(expectedIds));
+    }
+
+    @Test
+    void getOtherUsersItemRequestsByOffsetTest() {
+        User otherUser = User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+        userService.createUser(otherUser);
+
+        // Запросы из будущего заведомо новее всех остальных запросов в базе данных.
+        LocalDateTime created = LocalDateTime.now().plusYears(100).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> expectedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ItemRequest otherItemRequest = ItemRequest.builder()
+                    .requester(otherUser)
+                    .description(StringGenerator.generateItemRequestDescription())
+                    .created(created.plusSeconds(i))
+                    .build();
+            expectedIds.addFirst(itemRequestService.createItemRequest(otherItemRequest).getId());
+        }
+
+        Window<ItemRequest> page = itemRequestService.getOtherUsersItemRequests(user.getId(), 2, 2, null);
+
+        MatcherAssert.assertThat(page.getContent().stream().map(ItemRequest::getId).toList(),
+                Matchers.equalTo(expectedIds.subList(2, 4)));
+    }
+
+    @Test
+    void getNewItemRequestsTest() {
+        User otherUser = newUser();
+        userService.createUser(otherUser);
+
+        LocalDateTime created = LocalDateTime.now().plusYears(100).truncatedTo(ChronoUnit.SECONDS);
+        List<ItemRequest> otherItemRequests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            otherItemRequests.add(itemRequestService.createItemRequest(ItemRequest.builder()
+                    .requester(otherUser)
+                    .description(StringGenerator.generateItemRequestDescription())
+                    .created(created.minusSeconds(i))
+                    .build()));
+        }
+
+        Window<ItemRequest> firstPage = itemRequestService.getNewItemRequests(user.getId(), 1, otherItemRequests.getFirst().getId());
+
+        MatcherAssert.assertThat(firstPage.getContent().stream().map(ItemRequest::getId).toList(),
+                Matchers.equalTo(List.of(otherItemRequests.get(1).getId())));
+        MatcherAssert.assertThat(firstPage.hasNext(), Matchers.is(true));
+
+        Window<ItemRequest> secondPage = itemRequestService.getNewItemRequests(user.getId(), 1, firstPage.getContent().getLast().getId());
+
+        MatcherAssert.assertThat(secondPage.getContent().stream().map(ItemRequest::getId).toList(),
+                Matchers.equalTo(List.of(otherItemRequests.get(2).getId())));
+        MatcherAssert.assertThat(secondPage.hasNext(), Matchers.is(false));
+        MatcherAssert.assertThat(itemRequestService.getLatestOtherUsersItemRequestId(user.getId()), Matchers.equalTo(otherItemRequests.getLast().getId()));
+
+        // Собственные запросы пользователя не входят в выборку новых запросов и не меняют наибольший идентификатор.
+        itemRequestService.createItemRequest(ItemRequest.builder()
+                .requester(user)
+                .description(StringGenerator.generateItemRequestDescription())
+                .created(created)
+                .build());
+        MatcherAssert.assertThat(itemRequestService.getLatestOtherUsersItemRequestId(user.getId()), Matchers.equalTo(otherItemRequests.getLast().getId()));
+        Assertions.assertThrows(NotFoundException.class, () -> itemRequestService.getLatestOtherUsersItemRequestId(Long.MAX_VALUE));
+    }
+
     @Test
     void getRequestTest() {
         ItemRequestWithItemsDto itemRequestFromDb = itemRequestService.getRequest(user.getId(), itemRequest.getId());
@@ -129,4 +293,161 @@ public class ItemRequestServiceImplTest {
         MatcherAssert.assertThat(itemRequestFromDb.getDescription(), Matchers.equalTo(itemRequest.getDescription()));
         MatcherAssert.assertThat(itemRequestFromDb.getCreated(), Matchers.equalTo(itemRequest.getCreated()));
     }
+
+    @Test
+    void suggestItemTest() {
+        // Запросы попадают в индекс подбора после фиксации транзакции, поэтому данные создаются в отдельных транзакциях.
+        User requester = inNewTransaction(() -> userService.createUser(newUser()));
+        User owner = inNewTransaction(() -> userService.createUser(newUser()));
+
+        try {
+            ItemRequest request = inNewTransaction(() -> itemRequestService.createItemRequest(ItemRequest.builder()
+                    .requester(requester)
+                    .description("Нужна ударная дрель")
+                    .created(LocalDateTime.now())
+                    .build()));
+            Item item = inNewTransaction(() -> itemService.createItem(Item.builder()
+                    .name("Дрель")
+                    .description("Ударная дрель с набором сверл")
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+
+            Collection<ItemRequestMatch> requesterSuggestions = inNewTransaction(() -> itemRequestService.getRequesterSuggestions(requester.getId(), 0, 10));
+            MatcherAssert.assertThat(requesterSuggestions.size(), Matchers.equalTo(1));
+
+            ItemRequestMatch suggestion = requesterSuggestions.iterator().next();
+            MatcherAssert.assertThat(suggestion.getRequestId(), Matchers.equalTo(request.getId()));
+            MatcherAssert.assertThat(suggestion.getRequestDescription(), Matchers.equalTo(request.getDescription()));
+            MatcherAssert.assertThat(suggestion.getItemId(), Matchers.equalTo(item.getId()));
+            MatcherAssert.assertThat(suggestion.getItemName(), Matchers.equalTo(item.getName()));
+
+            Collection<ItemRequestMatch> ownerSuggestions = inNewTransaction(() -> itemRequestService.getOwnerSuggestions(owner.getId(), 0, 10));
+            MatcherAssert.assertThat(ownerSuggestions.stream().map(ItemRequestMatch::getId).toList(), Matchers.contains(suggestion.getId()));
+        } finally {
+            deleteUsers(requester, owner);
+        }
+    }
+
+    @Test
+    void suggestItemForDissimilarRequestTest() {
+        User requester = inNewTransaction(() -> userService.createUser(newUser()));
+        User owner = inNewTransaction(() -> userService.createUser(newUser()));
+
+        try {
+            inNewTransaction(() -> itemRequestService.createItemRequest(ItemRequest.builder()
+                    .requester(requester)
+                    .description("Нужна палатка на четверых для похода")
+                    .created(LocalDateTime.now())
+                    .build()));
+            inNewTransaction(() -> itemService.createItem(Item.builder()
+                    .name("Палатка")
+                    .description("Легкая одноместная")
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+
+            MatcherAssert.assertThat(inNewTransaction(() -> itemRequestService.getRequesterSuggestions(requester.getId(), 0, 10)), Matchers.empty());
+        } finally {
+            deleteUsers(requester, owner);
+        }
+    }
+
+    @Test
+    void suggestItemForOwnRequestTest() {
+        User owner = inNewTransaction(() -> userService.createUser(newUser()));
+
+        try {
+            inNewTransaction(() -> itemRequestService.createItemRequest(ItemRequest.builder()
+                    .requester(owner)
+                    .description("Нужна ударная дрель")
+                    .created(LocalDateTime.now())
+                    .build()));
+            inNewTransaction(() -> itemService.createItem(Item.builder()
+                    .name("Ударная дрель")
+                    .description("Ударная дрель")
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+
+            MatcherAssert.assertThat(inNewTransaction(() -> itemRequestService.getOwnerSuggestions(owner.getId(), 0, 10)), Matchers.empty());
+        } finally {
+            deleteUsers(owner);
+        }
+    }
+
+    @Test
+    void suggestItemForAnsweredRequestTest() {
+        User requester = inNewTransaction(() -> userService.createUser(newUser()));
+        User owner = inNewTransaction(() -> userService.createUser(newUser()));
+
+        try {
+            ItemRequest request = inNewTransaction(() -> itemRequestService.createItemRequest(ItemRequest.builder()
+                    .requester(requester)
+                    .description("Нужна ударная дрель")
+                    .created(LocalDateTime.now())
+                    .build()));
+            inNewTransaction(() -> itemService.createItem(Item.builder()
+                    .name("Ударная дрель")
+                    .description("Ударная дрель")
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build()));
+            inNewTransaction(() -> itemService.createItem(Item.builder()
+                    .name("Ударная дрель")
+                    .description("Ещё одна ударная дрель")
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+
+            // Вещь, созданная в ответ на запрос, не предлагается повторно, а закрытый запрос не получает новых предложений.
+            MatcherAssert.assertThat(inNewTransaction(() -> itemRequestService.getRequesterSuggestions(requester.getId(), 0, 10)), Matchers.empty());
+        } finally {
+            deleteUsers(requester, owner);
+        }
+    }
+
+    //region Facilities
+
+    /**
+     * Создать пользователя со случайными именем и адресом электронной почты.
+     *
+     * @return пользователь.
+     */
+    private User newUser() {
+        return User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build();
+    }
+
+    /**
+     * Удалить пользователей, созданных в отдельных транзакциях.
+     *
+     * @param users пользователи.
+     */
+    private void deleteUsers(User... users) {
+        for (User user : users) {
+            inNewTransaction(() -> {
+                userService.deleteUser(user.getId());
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Выполнить действие в отдельной транзакции, которая фиксируется независимо от транзакции теста.
+     *
+     * @param action действие.
+     * @param <T>    тип результата действия.
+     * @return результат действия.
+     */
+    private <T> T inNewTransaction(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    //endregion
 }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.user.index;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Тесты индекса идентификаторов существующих пользователей.
+ */
+public final class UserIdIndexTest {
+    /**
+     * Хранилище пользователей.
+     */
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+
+    /**
+     * Индекс идентификаторов существующих пользователей.
+     */
+    private UserIdIndex userIdIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L, 100_000L));
+
+        userIdIndex = new UserIdIndex(userRepository, true);
+        userIdIndex.rebuild();
+    }
+
+    @Test
+    void mightContainTest() {
+        MatcherAssert.assertThat(userIdIndex.mightContain(1), Matchers.is(true));
+        MatcherAssert.assertThat(userIdIndex.mightContain(100_000), Matchers.is(true));
+        MatcherAssert.assertThat(userIdIndex.mightContain(3), Matchers.is(false));
+        MatcherAssert.assertThat(userIdIndex.mightContain(10_000_000), Matchers.is(false));
+        MatcherAssert.assertThat(userIdIndex.mightContain(Long.MAX_VALUE), Matchers.is(false));
+    }
+
+    @Test
+    void findNonExistentUserTest() {
+        MatcherAssert.assertThat(userIdIndex.findById(3).isEmpty(), Matchers.is(true));
+        Mockito.verify(userRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void findUserCreatedByAnotherInstanceTest() {
+        User user = User.builder().id(3L).name("user").email("user@mail.ru").build();
+        Mockito.when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+
+        UserIdIndex sharedUserIdIndex = new UserIdIndex(userRepository, false);
+        sharedUserIdIndex.rebuild();
+
+        MatcherAssert.assertThat(sharedUserIdIndex.findById(3), Matchers.is(Optional.of(user)));
+        MatcherAssert.assertThat(sharedUserIdIndex.mightContain(3), Matchers.is(true));
+    }
+
+    @Test
+    void existsUserCreatedByAnotherInstanceTest() {
+        Mockito.when(userRepository.existsById(3L)).thenReturn(true);
+
+        UserIdIndex sharedUserIdIndex = new UserIdIndex(userRepository, false);
+        sharedUserIdIndex.rebuild();
+
+        MatcherAssert.assertThat(sharedUserIdIndex.exists(3), Matchers.is(true));
+        MatcherAssert.assertThat(sharedUserIdIndex.exists(4), Matchers.is(false));
+        MatcherAssert.assertThat(sharedUserIdIndex.mightContain(3), Matchers.is(true));
+        MatcherAssert.assertThat(sharedUserIdIndex.mightContain(4), Matchers.is(false));
+    }
+
+    @Test
+    void removeTest() {
+        userIdIndex.remove(2);
+
+        MatcherAssert.assertThat(userIdIndex.mightContain(1), Matchers.is(true));
+        MatcherAssert.assertThat(userIdIndex.mightContain(2), Matchers.is(false));
+    }
+
+    @Test
+    void concurrentAddTest() throws Exception {
+        int threadCount = 8;
+        long idsPerThread = 100_000;
+        AtomicBoolean missing = new AtomicBoolean();
+
+        // Потоки добавляют идентификаторы вперемешку, поэтому страницы битовой карты создаются во время записи в неё.
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            List<Future<?>> futures = IntStream.range(0, threadCount)
+                    .<Future<?>>mapToObj(thread -> executor.submit(() -> LongStream.range(0, idsPerThread)
+                            .map(i -> 200_000 + i * threadCount + thread)
+                            .forEach(id -> {
+                                userIdIndex.add(id);
+                                if (!userIdIndex.mightContain(id)) {
+                                    missing.set(true);
+                                }
+                            })))
+                    .toList();
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        MatcherAssert.assertThat(missing.get(), Matchers.is(false));
+        MatcherAssert.assertThat(LongStream.range(200_000, 200_000 + idsPerThread * threadCount).allMatch(userIdIndex::mightContain), Matchers.is(true));
+        MatcherAssert.assertThat(userIdIndex.mightContain(1), Matchers.is(true));
+        MatcherAssert.assertThat(userIdIndex.mightContain(3), Matchers.is(false));
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
@@ -10,12 +11,19 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.generator.StringGenerator;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.function.Supplier;
+
 /**
  * Тесты сервиса для работы с пользователями.
  */
@@ -25,6 +33,16 @@ import ru.practicum.shareit.user.model.User;
 public final class UserServiceImplTest {
     private final EntityManager entityManager;
 
+    /**
+     * Реестр метрик.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Менеджер транзакций.
+     */
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Сервисы для работы с пользователями.
      */
@@ -66,11 +84,75 @@ public final class UserServiceImplTest {
         MatcherAssert.assertThat(userFromService.getEmail(), Matchers.equalTo(user.getEmail()));
     }
 
+    @Test
+    void getCachedUserByIdTest() {
+        // Кэш второго уровня заполняется при чтении зафиксированных данных, поэтому пользователь создается в отдельной транзакции.
+        User committedUser = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+
+        try {
+            inNewTransaction(() -> userService.getUserById(committedUser.getId()));
+
+            Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            User userFromService = inNewTransaction(() -> userService.getUserById(committedUser.getId()));
+
+            MatcherAssert.assertThat(userFromService.getName(), Matchers.equalTo(committedUser.getName()));
+            MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(0L));
+            MatcherAssert.assertThat(statistics.getSecondLevelCacheHitCount(), Matchers.equalTo(1L));
+            MatcherAssert.assertThat(meterRegistry.find("hibernate.second.level.cache.requests").meters(), Matchers.not(Matchers.empty()));
+        } finally {
+            inNewTransaction(() -> {
+                userService.deleteUser(committedUser.getId());
+                return null;
+            });
+        }
+    }
+
+    @Test
+    void updateCachedUserTest() {
+        User committedUser = inNewTransaction(() -> userService.createUser(User.builder()
+                .name(StringGenerator.generateUserName())
+                .email(StringGenerator.generateUserEmail())
+                .build()));
+
+        try {
+            inNewTransaction(() -> userService.getUserById(committedUser.getId()));
+
+            String name = StringGenerator.generateUserName();
+            inNewTransaction(() -> userService.updateUser(User.builder().id(committedUser.getId()).name(name).build()));
+
+            MatcherAssert.assertThat(inNewTransaction(() -> userService.getUserById(committedUser.getId())).getName(), Matchers.equalTo(name));
+        } finally {
+            inNewTransaction(() -> {
+                userService.deleteUser(committedUser.getId());
+                return null;
+            });
+        }
+    }
+
     @Test()
     void getNonExistentUserById() {
         Assertions.assertThrows(NotFoundException.class, () -> userService.getUserById(Long.MAX_VALUE));
     }
 
+    @Test
+    void getNonExistentUserWithoutQueryTest() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Assertions.assertThrows(NotFoundException.class, () -> userService.getUserById(user.getId() + 1_000_000));
+
+        // Тесты работают в одном экземпляре, и идентификатора нет в индексе существующих пользователей, поэтому база
+        // данных не запрашивается.
+        MatcherAssert.assertThat(statistics.getPrepareStatementCount(), Matchers.equalTo(0L));
+    }
+
     @Test
     void updateUserNameTest() {
         User updatedUser = User.builder()
@@ -144,4 +226,21 @@ public final class UserServiceImplTest {
     void deleteNonExistentUserTest() {
         Assertions.assertThrows(NotFoundException.class, () -> userService.deleteUser(Long.MAX_VALUE));
     }
+
+    //region Facilities
+
+    /**
+     * Выполнить действие в отдельной транзакции, которая фиксируется независимо от транзакции теста.
+     *
+     * @param action действие.
+     * @param <T>    тип результата действия.
+     * @return результат действия.
+     */
+    private <T> T inNewTransaction(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    //endregion
 }